@@ -0,0 +1,96 @@
+package com.datastax.killrvideo.it.util;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.google.protobuf.Timestamp;
+
+import killrvideo.common.CommonTypes.TimeUuid;
+import killrvideo.common.CommonTypes.Uuid;
+
+/**
+ * Compares the cached {@link TypeConverter} conversions with the former
+ * build-a-new-message-every-time implementation (the "legacy" benchmarks),
+ * over a small set of recurring ids as seen during load generation
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TypeConverterBenchmark {
+
+    @Param({"64"})
+    public int distinctIds;
+
+    private UUID[] ids;
+    private Instant[] instants;
+    private int index;
+
+    @Setup
+    public void setup() {
+        ids = new UUID[distinctIds];
+        instants = new Instant[distinctIds];
+        for (int i = 0; i < distinctIds; i++) {
+            ids[i] = UUID.randomUUID();
+            instants[i] = Instant.now().minusMillis(i * 1000L + i);
+        }
+    }
+
+    private int next() {
+        index = (index + 1) % distinctIds;
+        return index;
+    }
+
+    @Benchmark
+    public Uuid legacyUuidToUuid() {
+        return Uuid.newBuilder()
+                .setValue(ids[next()].toString())
+                .build();
+    }
+
+    @Benchmark
+    public Uuid uuidToUuid() {
+        return TypeConverter.uuidToUuid(ids[next()]);
+    }
+
+    @Benchmark
+    public TimeUuid legacyUuidToTimeUuid() {
+        return TimeUuid.newBuilder()
+                .setValue(ids[next()].toString())
+                .build();
+    }
+
+    @Benchmark
+    public TimeUuid uuidToTimeUuid() {
+        return TypeConverter.uuidToTimeUuid(ids[next()]);
+    }
+
+    @Benchmark
+    public String legacyUuidToString() {
+        return ids[next()].toString();
+    }
+
+    @Benchmark
+    public String uuidToString() {
+        return TypeConverter.uuidToString(ids[next()]);
+    }
+
+    @Benchmark
+    public Timestamp legacyInstantToTimestamp() {
+        final Instant instant = instants[next()];
+        return Timestamp.newBuilder()
+                .setSeconds(instant.getEpochSecond())
+                .setNanos(instant.getNano())
+                .build();
+    }
+
+    @Benchmark
+    public Timestamp instantToTimestamp() {
+        return TypeConverter.instantToTimeStamp(instants[next()]);
+    }
+}
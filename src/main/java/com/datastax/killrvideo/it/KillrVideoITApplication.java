@@ -4,8 +4,11 @@ import org.springframework.boot.Banner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.ComponentScan;
 
+import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
+
 @ComponentScan
 @EnableAutoConfiguration
 @SpringBootApplication
@@ -15,6 +18,13 @@ public class KillrVideoITApplication  {
         SpringApplication app = new SpringApplication(KillrVideoITApplication.class);
         app.setWebEnvironment(false);
         app.setBannerMode(Banner.Mode.CONSOLE);
-        app.run(args);
+        final ConfigurableApplicationContext context = app.run(args);
+
+        /**
+         * In load generation mode the run is over once the LoadRunner returns
+         */
+        if (context.getBean(KillrVideoProperties.class).loadEnabled) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
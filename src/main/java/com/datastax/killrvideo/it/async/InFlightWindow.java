@@ -0,0 +1,66 @@
+package com.datastax.killrvideo.it.async;
+
+import static java.lang.String.format;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+/**
+ * Bounds the number of asynchronous calls in flight.
+ * <br/>
+ * Calls are issued back to back on future stubs so they are pipelined on the same HTTP/2 connection
+ * instead of paying one round-trip each. Once the window is full, {@link #submit(Supplier)} blocks
+ * until one of the outstanding calls completes.
+ */
+public class InFlightWindow {
+
+    private final int size;
+    private final Semaphore permits;
+
+    public InFlightWindow(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException(format("In-flight window size should be strictly positive, found %s", size));
+        }
+        this.size = size;
+        this.permits = new Semaphore(size);
+    }
+
+    /**
+     * Waits for a free slot then issues the call. The slot is released when the returned future completes
+     */
+    public <T> ListenableFuture<T> submit(Supplier<ListenableFuture<T>> call) throws InterruptedException {
+        acquire();
+        ListenableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException ex) {
+            future = Futures.immediateFailedFuture(ex);
+        }
+        future.addListener(this::release, MoreExecutors.directExecutor());
+        return future;
+    }
+
+    public void acquire() throws InterruptedException {
+        permits.acquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getInFlightCount() {
+        return size - permits.availablePermits();
+    }
+
+    /**
+     * Blocks until every call issued so far has completed
+     */
+    public void awaitQuiescence() throws InterruptedException {
+        permits.acquire(size);
+        permits.release(size);
+    }
+}
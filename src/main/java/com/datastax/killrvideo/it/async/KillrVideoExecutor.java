@@ -0,0 +1,222 @@
+package com.datastax.killrvideo.it.async;
+
+import static java.lang.String.format;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Harness executor running tasks either on a bounded pool of platform threads
+ * or on one virtual thread per task (JDK 21+), with saturation metrics in both modes
+ */
+public class KillrVideoExecutor extends AbstractExecutorService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KillrVideoExecutor.class);
+
+    public enum Mode {
+        PLATFORM, VIRTUAL;
+
+        public static Mode fromName(String name) {
+            return parse(Mode.class, values(), name);
+        }
+    }
+
+    public enum Rejection {
+        ABORT(new ThreadPoolExecutor.AbortPolicy()),
+        CALLER_RUNS(new ThreadPoolExecutor.CallerRunsPolicy()),
+        DISCARD(new ThreadPoolExecutor.DiscardPolicy()),
+        DISCARD_OLDEST(new ThreadPoolExecutor.DiscardOldestPolicy());
+
+        private final RejectedExecutionHandler handler;
+
+        Rejection(RejectedExecutionHandler handler) {
+            this.handler = handler;
+        }
+
+        public static Rejection fromName(String name) {
+            return parse(Rejection.class, values(), name);
+        }
+    }
+
+    private final Mode mode;
+    private final ExecutorService delegate;
+    private final ThreadPoolExecutor pool;
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicInteger largestActiveCount = new AtomicInteger();
+    private final LongAdder submittedCount = new LongAdder();
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+
+    /**
+     * @param queueCapacity 0 for direct hand-off, a negative value for an unbounded queue.
+     *                      Pool sizes, queue and rejection only apply to the platform mode
+     */
+    public KillrVideoExecutor(Mode mode, int coreSize, int maxSize, long keepAliveInSeconds,
+                              int queueCapacity, Rejection rejection) {
+        this.mode = mode;
+        if (mode == Mode.VIRTUAL) {
+            this.pool = null;
+            this.delegate = newVirtualThreadPerTaskExecutor();
+        } else {
+            final BlockingQueue<Runnable> queue = queueCapacity == 0
+                    ? new SynchronousQueue<>()
+                    : new LinkedBlockingQueue<>(queueCapacity < 0 ? Integer.MAX_VALUE : queueCapacity);
+            this.pool = new ThreadPoolExecutor(coreSize, maxSize, keepAliveInSeconds, TimeUnit.SECONDS,
+                    queue, new KillrVideoThreadFactory(), (task, executor) -> {
+                        rejectedCount.increment();
+                        // discard-oldest drops the head of the queue, if any, then submits the task again
+                        if (rejection == Rejection.DISCARD
+                                || rejection == Rejection.DISCARD_OLDEST && !executor.getQueue().isEmpty()) {
+                            droppedCount.increment();
+                        }
+                        rejection.handler.rejectedExecution(task, executor);
+                    });
+            this.delegate = pool;
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        submittedCount.increment();
+        try {
+            delegate.execute(() -> {
+                largestActiveCount.accumulateAndGet(activeCount.incrementAndGet(), Math::max);
+                try {
+                    command.run();
+                } finally {
+                    activeCount.decrementAndGet();
+                    completedCount.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (pool == null) {
+                rejectedCount.increment();
+            }
+            throw e;
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    public int getLargestActiveCount() {
+        return largestActiveCount.get();
+    }
+
+    /**
+     * Tasks waiting for a thread, always 0 in virtual mode
+     */
+    public int getQueueDepth() {
+        return pool == null ? 0 : pool.getQueue().size();
+    }
+
+    public int getPoolSize() {
+        return pool == null ? activeCount.get() : pool.getPoolSize();
+    }
+
+    public long getSubmittedCount() {
+        return submittedCount.sum();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Tasks silently dropped by the discard rejections, they never run nor complete
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public String prettyPrint() {
+        return format("Executor %s: submitted=%d, completed=%d, rejected=%d, dropped=%d, active=%d, largest active=%d, pool size=%d, queue depth=%d",
+                mode.name().toLowerCase(), getSubmittedCount(), getCompletedCount(), getRejectedCount(), getDroppedCount(),
+                getActiveCount(), getLargestActiveCount(), getPoolSize(), getQueueDepth());
+    }
+
+    /**
+     * Log the metrics then stop all tasks
+     */
+    public void close() {
+        LOGGER.info(prettyPrint());
+        shutdownNow();
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() is looked up at runtime since the harness compiles for Java 8
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(format("Virtual threads require Java 21 or later, running on Java %s",
+                    System.getProperty("java.version")), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create the virtual thread executor", e);
+        }
+    }
+
+    private static <T extends Enum<T>> T parse(Class<T> type, T[] values, String name) {
+        final String normalized = name.trim().toUpperCase().replace('-', '_');
+        return Arrays.stream(values)
+                .filter(x -> x.name().equals(normalized))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(format("Unknown %s '%s', expected one of %s",
+                        type.getSimpleName().toLowerCase(), name,
+                        Arrays.toString(values).toLowerCase().replace('_', '-'))));
+    }
+}
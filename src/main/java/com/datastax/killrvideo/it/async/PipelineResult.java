@@ -0,0 +1,67 @@
+package com.datastax.killrvideo.it.async;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Outcome of a batch of pipelined calls, in submission order.
+ * Each slot holds either the response or the error of the corresponding call.
+ */
+public class PipelineResult<T> {
+
+    private final List<T> responses;
+    private final List<Throwable> errors;
+
+    private PipelineResult(List<T> responses, List<Throwable> errors) {
+        this.responses = responses;
+        this.errors = errors;
+    }
+
+    /**
+     * Waits for all the futures to complete and collects their responses and errors
+     */
+    public static <T> PipelineResult<T> await(List<? extends Future<T>> futures) throws InterruptedException {
+        final List<T> responses = new ArrayList<>(futures.size());
+        final List<Throwable> errors = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            try {
+                responses.add(future.get());
+                errors.add(null);
+            } catch (ExecutionException ex) {
+                responses.add(null);
+                errors.add(ex.getCause() != null ? ex.getCause() : ex);
+            }
+        }
+        return new PipelineResult<>(responses, errors);
+    }
+
+    public int size() {
+        return responses.size();
+    }
+
+    public T getResponse(int index) {
+        return responses.get(index);
+    }
+
+    public Throwable getError(int index) {
+        return errors.get(index);
+    }
+
+    public List<T> getResponses() {
+        return Collections.unmodifiableList(responses);
+    }
+
+    public List<Throwable> getErrors() {
+        final List<Throwable> found = new ArrayList<>();
+        errors.stream().filter(Objects::nonNull).forEach(found::add);
+        return found;
+    }
+
+    public boolean hasErrors() {
+        return errors.stream().anyMatch(Objects::nonNull);
+    }
+}
@@ -1,8 +1,9 @@
 package com.datastax.killrvideo.it.configuration;
 
-import static com.datastax.killrvideo.it.configuration.KillrVideoProperties.WAIT_TIME_IN_SECONDS;
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 
+import java.net.InetSocketAddress;
 import java.util.List;
 import javax.inject.Inject;
 
@@ -11,9 +12,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.HostDistance;
+import com.datastax.driver.core.PoolingOptions;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.policies.DCAwareRoundRobinPolicy;
+import com.datastax.driver.core.policies.TokenAwarePolicy;
+import com.datastax.killrvideo.it.dao.QueryLatencyTracker;
 import com.datastax.killrvideo.it.util.HostAndPortSplitter;
 import com.datastax.killrvideo.it.util.ServiceChecker;
 import com.xqbase.etcd4j.EtcdClient;
@@ -22,36 +29,70 @@ import com.xqbase.etcd4j.EtcdNode;
 @Configuration
 public class CassandraConfiguration {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(CassandraConfiguration.class);
+
     private static final String CLUSTER_NAME = "killrvideo";
     private static final String KEYSPACE_NAME = "killrvideo";
 
     @Inject
+    @Lazy
     private EtcdClient etcdClient;
 
+    @Inject
+    private KillrVideoProperties properties;
+
+    @Inject
+    private QueryLatencyTracker latencyTracker;
+
+    /**
+     * Lazy, Cassandra is only reached when first queried, never when load runs against the in-process stand-in
+     */
     @Bean(destroyMethod = "close")
+    @Lazy
     public Session getSession() throws Exception {
         final List<EtcdNode> etcdNodes = etcdClient.listDir("killrvideo/services/cassandra");
         if (CollectionUtils.isEmpty(etcdNodes)) {
             throw new IllegalStateException(format("Cannot find any Cassandra service in etcd. " +
                     "Please wait until Cassandra has successfully started"));
         } else {
-            final EtcdNode cassandraAddress = etcdNodes.get(0);
-            final String hostAndPort = cassandraAddress.value;
-            assert hostAndPort != null;
-            HostAndPortSplitter.ensureValidFormat(hostAndPort,
-                    format("The %s is not a valid host:port format", hostAndPort));
+            final List<InetSocketAddress> contactPoints = etcdNodes
+                    .stream()
+                    .map(node -> {
+                        final String hostAndPort = node.value;
+                        assert hostAndPort != null;
+                        HostAndPortSplitter.ensureValidFormat(hostAndPort,
+                                format("The %s is not a valid host:port format", hostAndPort));
+                        return new InetSocketAddress(HostAndPortSplitter.extractAddress(hostAndPort),
+                                HostAndPortSplitter.extractPort(hostAndPort));
+                    })
+                    .distinct()
+                    .collect(toList());
+
+            final InetSocketAddress firstContactPoint = contactPoints.get(0);
+            ServiceChecker.waitForService("Cassandra", firstContactPoint.getHostString(), firstContactPoint.getPort(),
+                    properties.newDiscoveryBackoff());
+
+            final DCAwareRoundRobinPolicy.Builder dcAwarePolicy = DCAwareRoundRobinPolicy.builder();
+            if (!properties.cassandraLocalDc.isEmpty()) {
+                dcAwarePolicy.withLocalDc(properties.cassandraLocalDc);
+            }
 
-            final String address = HostAndPortSplitter.extractAddress(hostAndPort);
-            final int port = HostAndPortSplitter.extractPort(hostAndPort);
+            final PoolingOptions poolingOptions = new PoolingOptions()
+                    .setConnectionsPerHost(HostDistance.LOCAL,
+                            properties.cassandraCoreConnectionsPerHost, properties.cassandraMaxConnectionsPerHost)
+                    .setMaxRequestsPerConnection(HostDistance.LOCAL, properties.cassandraMaxRequestsPerConnection);
 
-            ServiceChecker.waitForService("Cassandra", address, port, WAIT_TIME_IN_SECONDS);
+            LOGGER.info(format("Connecting to Cassandra through %s", contactPoints));
 
             final Cluster cluster = Cluster
                     .builder()
-                    .addContactPoint(address)
-                    .withPort(port)
+                    .addContactPointsWithPorts(contactPoints)
+                    .withPort(firstContactPoint.getPort())
                     .withClusterName(CLUSTER_NAME)
+                    .withLoadBalancingPolicy(new TokenAwarePolicy(dcAwarePolicy.build()))
+                    .withPoolingOptions(poolingOptions)
                     .build();
+            cluster.register(latencyTracker);
 
             return cluster.connect();
         }
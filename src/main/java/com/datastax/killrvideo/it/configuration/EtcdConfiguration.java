@@ -1,7 +1,5 @@
 package com.datastax.killrvideo.it.configuration;
 
-import static com.datastax.killrvideo.it.configuration.KillrVideoProperties.WAIT_TIME_IN_SECONDS;
-
 import java.net.URI;
 import javax.inject.Inject;
 
@@ -9,6 +7,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.core.env.Environment;
 
 import com.datastax.killrvideo.it.util.ServiceChecker;
@@ -28,14 +27,18 @@ public class EtcdConfiguration {
         return new KillrVideoProperties(env);
     }
 
+    /**
+     * Lazy, etcd is not needed when KillrVideoServer is replaced by the in-process stand-in
+     */
     @Bean
+    @Lazy
     public EtcdClient connectToEtcd() throws Exception {
 
         final KillrVideoProperties properties = new KillrVideoProperties(env);
 
         final String etcdUrl = "http://" + properties.dockerIp + ":" + properties.etcdPort;
 
-        ServiceChecker.waitForService("Etcd", properties.dockerIp, properties.etcdPort, WAIT_TIME_IN_SECONDS);
+        ServiceChecker.waitForService("Etcd", properties.dockerIp, properties.etcdPort, properties.newDiscoveryBackoff());
 
         LOGGER.info(String.format("Creating connection to etcd %s", etcdUrl));
 
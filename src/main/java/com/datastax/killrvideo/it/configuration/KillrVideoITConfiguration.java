@@ -1,15 +1,5 @@
 package com.datastax.killrvideo.it.configuration;
 
-import static com.datastax.killrvideo.it.configuration.KillrVideoProperties.WAIT_TIME_IN_SECONDS;
-import static java.lang.String.format;
-
-import java.util.Arrays;
-import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 
 import org.slf4j.Logger;
@@ -17,13 +7,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import com.datastax.killrvideo.it.async.KillrVideoThreadFactory;
-import com.datastax.killrvideo.it.util.HostAndPortSplitter;
-import com.datastax.killrvideo.it.util.ServiceChecker;
-import com.xqbase.etcd4j.EtcdClient;
-
-import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
+import com.datastax.killrvideo.it.async.KillrVideoExecutor;
 
 
 @Configuration
@@ -38,57 +22,19 @@ public class KillrVideoITConfiguration {
     public static final String STATISTICS_SERVICE_NAME = "StatisticsService";
     public static final String SEARCH_SERVICE_NAME = "SearchService";
     public static final String SUGGESTED_VIDEOS_SERVICE_NAME = "SuggestedVideoService";
-
-    @Inject
-    private EtcdClient etcdClient;
+    public static final String SAMPLE_DATA_SERVICE_NAME = "SampleDataService";
 
     @Inject
     private KillrVideoProperties properties;
 
-    @Bean
-    public ManagedChannel getManagedChannel() throws Exception {
-        final String grpcUserServiceUrl = "killrvideo/services/"
-                + USER_SERVICE_NAME
-                + "/"
-                + properties.applicationName
-                + ":"
-                + properties.applicationInstanceId;
-
-        while (!ServiceChecker.isServicePresent(etcdClient, grpcUserServiceUrl)) {
-            System.out.println("Waiting 10 seconds for KillrVideoServer services to be registered");
-            Thread.sleep(10000);
-        }
-
-        final Optional<String> foundKillrVideoServer = Optional.ofNullable(etcdClient.get(grpcUserServiceUrl));
-
-        if (!foundKillrVideoServer.isPresent()) {
-            throw new IllegalStateException(format("Cannot look up service name %s from etcd. Please ensure you start KillrVideoServer before",
-                    grpcUserServiceUrl));
-        } else {
-            final String hostAndPort = foundKillrVideoServer.get();
-            HostAndPortSplitter.ensureValidFormat(hostAndPort,
-                    format("The %s is not a valid host:port format", hostAndPort));
-
-            final String address = HostAndPortSplitter.extractAddress(hostAndPort);
-            final int port = HostAndPortSplitter.extractPort(hostAndPort);
-
-            ServiceChecker.waitForService("KillrVideoServer " + USER_SERVICE_NAME, address, port, WAIT_TIME_IN_SECONDS);
-
-            System.out.println("Waiting 2 seconds for KillrVideoServer complete startup (conservative approach)");
-
-            Thread.sleep(2000);
-
-            return ManagedChannelBuilder
-                    .forAddress(address, port)
-                    .usePlaintext(true)
-                    .build();
-        }
-    }
-
-    @Bean(destroyMethod = "shutdownNow")
-    public ExecutorService threadPool() {
-        return new ThreadPoolExecutor(1, 10, 10, TimeUnit.SECONDS,
-                new LinkedBlockingQueue<>(100), new KillrVideoThreadFactory());
+    @Bean(destroyMethod = "close")
+    public KillrVideoExecutor threadPool() {
+        return new KillrVideoExecutor(properties.executorMode,
+                properties.executorCoreSize,
+                properties.executorMaxSize,
+                properties.executorKeepAliveInSeconds,
+                properties.executorQueueCapacity,
+                properties.executorRejection);
     }
 
 }
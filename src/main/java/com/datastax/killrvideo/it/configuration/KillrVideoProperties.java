@@ -1,14 +1,24 @@
 package com.datastax.killrvideo.it.configuration;
 
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Double.parseDouble;
 import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.Environment;
 
+import com.datastax.killrvideo.it.async.KillrVideoExecutor;
+import com.datastax.killrvideo.it.grpc.Balancing;
+import com.datastax.killrvideo.it.util.Backoff;
+
 public class KillrVideoProperties {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(KillrVideoProperties.class);
@@ -18,24 +28,216 @@ public class KillrVideoProperties {
     public static final String APPLICATION_INSTANCE_ID = "killrvideo.application.instance.id";
     public static final String ETCD_PORT = "killrvideo.etcd.port";
     public static final String KILLRVIDEO_DOCKER_IP = "KILLRVIDEO_DOCKER_IP";
-    public static final int WAIT_TIME_IN_SECONDS = 10;
+    public static final String CASSANDRA_KEYSPACE = "killrvideo.cassandra.keyspace";
+    public static final String CASSANDRA_LOCAL_DC = "killrvideo.cassandra.local.dc";
+    public static final String CASSANDRA_CORE_CONNECTIONS_PER_HOST = "killrvideo.cassandra.pool.core.connections.per.host";
+    public static final String CASSANDRA_MAX_CONNECTIONS_PER_HOST = "killrvideo.cassandra.pool.max.connections.per.host";
+    public static final String CASSANDRA_MAX_REQUESTS_PER_CONNECTION = "killrvideo.cassandra.pool.max.requests.per.connection";
+    public static final String CASSANDRA_SLOW_QUERY_IN_MILLIS = "killrvideo.cassandra.slow.query.millis";
+    public static final String EXECUTOR_MODE = "killrvideo.executor.mode";
+    public static final String EXECUTOR_CORE_SIZE = "killrvideo.executor.core.size";
+    public static final String EXECUTOR_MAX_SIZE = "killrvideo.executor.max.size";
+    public static final String EXECUTOR_KEEPALIVE_IN_SECONDS = "killrvideo.executor.keepalive.seconds";
+    public static final String EXECUTOR_QUEUE_CAPACITY = "killrvideo.executor.queue.capacity";
+    public static final String EXECUTOR_REJECTION = "killrvideo.executor.rejection";
+    public static final String DISCOVERY_INITIAL_BACKOFF_IN_MILLIS = "killrvideo.discovery.backoff.initial.millis";
+    public static final String DISCOVERY_MAX_BACKOFF_IN_MILLIS = "killrvideo.discovery.backoff.max.millis";
+    public static final String DISCOVERY_TIMEOUT_IN_SECONDS = "killrvideo.discovery.timeout.seconds";
+    public static final String DISCOVERY_REFRESH_IN_SECONDS = "killrvideo.discovery.refresh.seconds";
+    public static final String GRPC_IN_FLIGHT_WINDOW = "killrvideo.grpc.inflight.window";
+    public static final String GRPC_BALANCING = "killrvideo.grpc.balancing";
+    public static final String GRPC_METRICS_DIRECTORY = "killrvideo.grpc.metrics.dir";
+    public static final String GRPC_METRICS_INTERVAL_IN_SECONDS = "killrvideo.grpc.metrics.interval.seconds";
+    public static final String GRPC_CAPTURE_FILE = "killrvideo.grpc.capture.file";
+    public static final String GRPC_IN_PROCESS = "killrvideo.grpc.in.process";
+
+    public static final String LOAD_ENABLED = "killrvideo.load.enabled";
+    public static final String LOAD_SCENARIO = "killrvideo.load.scenario";
+    public static final String LOAD_REQUESTS_PER_SECOND = "killrvideo.load.requests.per.second";
+    public static final String LOAD_DURATION_IN_SECONDS = "killrvideo.load.duration.seconds";
+    public static final String LOAD_WARMUP_IN_SECONDS = "killrvideo.load.warmup.seconds";
+    public static final String LOAD_CONCURRENCY = "killrvideo.load.concurrency";
+    public static final String LOAD_RPCS = "killrvideo.load.rpcs";
+    public static final String LOAD_SEED_USERS = "killrvideo.load.seed.users";
+    public static final String LOAD_SEED_VIDEOS = "killrvideo.load.seed.videos";
+    public static final String LOAD_TRUNCATE_TABLES = "killrvideo.load.truncate.tables";
+    public static final String LOAD_SAMPLE_DATA_CALLERS = "killrvideo.load.sample.data.callers";
+    public static final String LOAD_SAMPLE_DATA_BATCH_SIZE = "killrvideo.load.sample.data.batch.size";
+    public static final String LOAD_PAGINATION_ITEMS = "killrvideo.load.pagination.items";
+    public static final String LOAD_PAGINATION_PAGE_SIZES = "killrvideo.load.pagination.page.sizes";
+    public static final String LOAD_PAGINATION_SCANS = "killrvideo.load.pagination.scans";
+    public static final String LOAD_PAGINATION_MAX_PAGES = "killrvideo.load.pagination.max.pages";
+    public static final String LOAD_HOT_PARTITION_STEPS = "killrvideo.load.hot.partition.steps";
+    public static final String LOAD_COUNTERS_HOT_VIDEOS = "killrvideo.load.counters.hot.videos";
+    public static final String LOAD_LWT_UNIQUE_EMAILS = "killrvideo.load.lwt.unique.emails";
+    public static final String LOAD_LWT_COLLIDING_EMAILS = "killrvideo.load.lwt.colliding.emails";
+    public static final String LOAD_LWT_ATTEMPTS_PER_EMAIL = "killrvideo.load.lwt.attempts.per.email";
+    public static final String LOAD_RESULTS_DIRECTORY = "killrvideo.load.results.dir";
+    public static final String LOAD_BUILD_LABEL = "killrvideo.load.build.label";
+    public static final String LOAD_BASELINE_LABEL = "killrvideo.load.baseline.label";
+    public static final String LOAD_REGRESSION_P99_TOLERANCE = "killrvideo.load.regression.p99.tolerance";
+    public static final String LOAD_REGRESSION_THROUGHPUT_TOLERANCE = "killrvideo.load.regression.throughput.tolerance";
+    public static final String LOAD_REGRESSION_NOISE_SIGMAS = "killrvideo.load.regression.noise.sigmas";
+    public static final String LOAD_REGRESSION_MIN_CALLS = "killrvideo.load.regression.min.calls";
+    public static final String LOAD_REPLAY_FILE = "killrvideo.load.replay.file";
+    public static final String LOAD_REPLAY_SPEED = "killrvideo.load.replay.speed";
+    public static final String SEED_ENABLED = "killrvideo.seed.enabled";
+    public static final String SEED_USERS = "killrvideo.seed.users";
+    public static final String SEED_VIDEOS_PER_USER = "killrvideo.seed.videos.per.user";
+    public static final String SEED_COMMENTS_PER_VIDEO = "killrvideo.seed.comments.per.video";
+    public static final String SEED_RATINGS_PER_VIDEO = "killrvideo.seed.ratings.per.video";
+    public static final String SEED_THREADS = "killrvideo.seed.threads";
+    public static final String SEED_MAX_IN_FLIGHT = "killrvideo.seed.max.inflight";
 
 
     public final String applicationName;
     public final String applicationInstanceId;
     public final int etcdPort;
     public final String dockerIp;
+    public final int grpcInFlightWindow;
+    public final Balancing grpcBalancing;
+    public final String grpcMetricsDirectory;
+    public final long grpcMetricsIntervalInSeconds;
+    public final String grpcCaptureFile;
+    public final boolean grpcInProcess;
+    public final String cassandraKeyspace;
+    public final String cassandraLocalDc;
+    public final int cassandraCoreConnectionsPerHost;
+    public final int cassandraMaxConnectionsPerHost;
+    public final int cassandraMaxRequestsPerConnection;
+    public final long cassandraSlowQueryInMillis;
+    public final KillrVideoExecutor.Mode executorMode;
+    public final int executorCoreSize;
+    public final int executorMaxSize;
+    public final long executorKeepAliveInSeconds;
+    public final int executorQueueCapacity;
+    public final KillrVideoExecutor.Rejection executorRejection;
+    public final long discoveryInitialBackoffInMillis;
+    public final long discoveryMaxBackoffInMillis;
+    public final long discoveryTimeoutInSeconds;
+    public final long discoveryRefreshInSeconds;
+
+    public final boolean loadEnabled;
+    public final String loadScenario;
+    public final int loadRequestsPerSecond;
+    public final int loadDurationInSeconds;
+    public final int loadWarmupInSeconds;
+    public final int loadConcurrency;
+    public final List<String> loadRpcs;
+    public final int loadSeedUsers;
+    public final int loadSeedVideos;
+    public final boolean loadTruncateTables;
+    public final List<Integer> loadSampleDataCallers;
+    public final int loadSampleDataBatchSize;
+    public final int loadPaginationItems;
+    public final List<Integer> loadPaginationPageSizes;
+    public final int loadPaginationScans;
+    public final int loadPaginationMaxPages;
+    public final int loadHotPartitionSteps;
+    public final int loadCountersHotVideos;
+    public final int loadLwtUniqueEmails;
+    public final int loadLwtCollidingEmails;
+    public final int loadLwtAttemptsPerEmail;
+    public final String loadResultsDirectory;
+    public final String loadBuildLabel;
+    public final String loadBaselineLabel;
+    public final double loadRegressionP99Tolerance;
+    public final double loadRegressionThroughputTolerance;
+    public final double loadRegressionNoiseSigmas;
+    public final long loadRegressionMinCalls;
+    public final String loadReplayFile;
+    public final double loadReplaySpeed;
+
+    public final int seedUsers;
+    public final int seedVideosPerUser;
+    public final int seedCommentsPerVideo;
+    public final int seedRatingsPerVideo;
+    public final int seedThreads;
+    public final int seedMaxInFlight;
 
     public KillrVideoProperties(Environment env) {
         this.applicationName = env.getProperty(APPLICATION_NAME, "KillrVideo");
         this.applicationInstanceId = env.getProperty(APPLICATION_INSTANCE_ID, "0");
         this.etcdPort = parseInt(env.getProperty(ETCD_PORT, "2379"));
+        this.grpcInFlightWindow = parseInt(env.getProperty(GRPC_IN_FLIGHT_WINDOW, "64"));
+        this.grpcBalancing = Balancing.fromName(env.getProperty(GRPC_BALANCING, "single"));
+        this.grpcMetricsDirectory = env.getProperty(GRPC_METRICS_DIRECTORY, "target/rpc-metrics");
+        this.grpcMetricsIntervalInSeconds = parseLong(env.getProperty(GRPC_METRICS_INTERVAL_IN_SECONDS, "10"));
+        this.grpcCaptureFile = env.getProperty(GRPC_CAPTURE_FILE, "");
+        this.grpcInProcess = parseBoolean(env.getProperty(GRPC_IN_PROCESS, "false"));
+        this.cassandraKeyspace = env.getProperty(CASSANDRA_KEYSPACE, "killrvideo");
+        this.cassandraLocalDc = env.getProperty(CASSANDRA_LOCAL_DC, "");
+        this.cassandraCoreConnectionsPerHost = parseInt(env.getProperty(CASSANDRA_CORE_CONNECTIONS_PER_HOST, "1"));
+        this.cassandraMaxConnectionsPerHost = parseInt(env.getProperty(CASSANDRA_MAX_CONNECTIONS_PER_HOST, "1"));
+        this.cassandraMaxRequestsPerConnection = parseInt(env.getProperty(CASSANDRA_MAX_REQUESTS_PER_CONNECTION, "1024"));
+        this.cassandraSlowQueryInMillis = parseLong(env.getProperty(CASSANDRA_SLOW_QUERY_IN_MILLIS, "100"));
+        this.executorMode = KillrVideoExecutor.Mode.fromName(env.getProperty(EXECUTOR_MODE, "platform"));
+        this.executorCoreSize = parseInt(env.getProperty(EXECUTOR_CORE_SIZE, "16"));
+        this.executorMaxSize = parseInt(env.getProperty(EXECUTOR_MAX_SIZE, "16"));
+        this.executorKeepAliveInSeconds = parseLong(env.getProperty(EXECUTOR_KEEPALIVE_IN_SECONDS, "10"));
+        this.executorQueueCapacity = parseInt(env.getProperty(EXECUTOR_QUEUE_CAPACITY, "1000"));
+        this.executorRejection = KillrVideoExecutor.Rejection.fromName(env.getProperty(EXECUTOR_REJECTION, "caller-runs"));
+        this.discoveryInitialBackoffInMillis = parseLong(env.getProperty(DISCOVERY_INITIAL_BACKOFF_IN_MILLIS, "50"));
+        this.discoveryMaxBackoffInMillis = parseLong(env.getProperty(DISCOVERY_MAX_BACKOFF_IN_MILLIS, "2000"));
+        this.discoveryTimeoutInSeconds = parseLong(env.getProperty(DISCOVERY_TIMEOUT_IN_SECONDS, "300"));
+        this.discoveryRefreshInSeconds = parseLong(env.getProperty(DISCOVERY_REFRESH_IN_SECONDS, "10"));
+
+        this.loadEnabled = parseBoolean(env.getProperty(LOAD_ENABLED, "false"));
+        this.loadScenario = env.getProperty(LOAD_SCENARIO, "mixed");
+        this.loadRequestsPerSecond = parseInt(env.getProperty(LOAD_REQUESTS_PER_SECOND, "500"));
+        this.loadDurationInSeconds = parseInt(env.getProperty(LOAD_DURATION_IN_SECONDS, "60"));
+        this.loadWarmupInSeconds = parseInt(env.getProperty(LOAD_WARMUP_IN_SECONDS, "10"));
+        this.loadConcurrency = parseInt(env.getProperty(LOAD_CONCURRENCY, "16"));
+        this.loadRpcs = splitList(env.getProperty(LOAD_RPCS, ""));
+        this.loadSeedUsers = parseInt(env.getProperty(LOAD_SEED_USERS, "100"));
+        this.loadSeedVideos = parseInt(env.getProperty(LOAD_SEED_VIDEOS, "100"));
+        this.loadTruncateTables = parseBoolean(env.getProperty(LOAD_TRUNCATE_TABLES, "false"));
+        this.loadSampleDataCallers = splitList(env.getProperty(LOAD_SAMPLE_DATA_CALLERS, "1,2,4,8"))
+                .stream()
+                .map(Integer::valueOf)
+                .collect(toList());
+        this.loadSampleDataBatchSize = parseInt(env.getProperty(LOAD_SAMPLE_DATA_BATCH_SIZE, "10"));
+        this.loadPaginationItems = parseInt(env.getProperty(LOAD_PAGINATION_ITEMS, "500"));
+        this.loadPaginationPageSizes = splitList(env.getProperty(LOAD_PAGINATION_PAGE_SIZES, "5,10,50,100"))
+                .stream()
+                .map(Integer::valueOf)
+                .collect(toList());
+        this.loadPaginationScans = parseInt(env.getProperty(LOAD_PAGINATION_SCANS, "3"));
+        this.loadPaginationMaxPages = parseInt(env.getProperty(LOAD_PAGINATION_MAX_PAGES, "1000"));
+        this.loadHotPartitionSteps = parseInt(env.getProperty(LOAD_HOT_PARTITION_STEPS, "6"));
+        this.loadCountersHotVideos = parseInt(env.getProperty(LOAD_COUNTERS_HOT_VIDEOS, "3"));
+        this.loadLwtUniqueEmails = parseInt(env.getProperty(LOAD_LWT_UNIQUE_EMAILS, "1000"));
+        this.loadLwtCollidingEmails = parseInt(env.getProperty(LOAD_LWT_COLLIDING_EMAILS, "200"));
+        this.loadLwtAttemptsPerEmail = parseInt(env.getProperty(LOAD_LWT_ATTEMPTS_PER_EMAIL, "10"));
+        this.loadResultsDirectory = env.getProperty(LOAD_RESULTS_DIRECTORY, "target/load-results");
+        this.loadBuildLabel = env.getProperty(LOAD_BUILD_LABEL, "local");
+        this.loadBaselineLabel = env.getProperty(LOAD_BASELINE_LABEL, "");
+        this.loadRegressionP99Tolerance = parseDouble(env.getProperty(LOAD_REGRESSION_P99_TOLERANCE, "0.1"));
+        this.loadRegressionThroughputTolerance = parseDouble(env.getProperty(LOAD_REGRESSION_THROUGHPUT_TOLERANCE, "0.1"));
+        this.loadRegressionNoiseSigmas = parseDouble(env.getProperty(LOAD_REGRESSION_NOISE_SIGMAS, "3"));
+        this.loadRegressionMinCalls = parseLong(env.getProperty(LOAD_REGRESSION_MIN_CALLS, "100"));
+        this.loadReplayFile = env.getProperty(LOAD_REPLAY_FILE, "");
+        this.loadReplaySpeed = parseDouble(env.getProperty(LOAD_REPLAY_SPEED, "1"));
+
+        this.seedUsers = parseInt(env.getProperty(SEED_USERS, "10000"));
+        this.seedVideosPerUser = parseInt(env.getProperty(SEED_VIDEOS_PER_USER, "5"));
+        this.seedCommentsPerVideo = parseInt(env.getProperty(SEED_COMMENTS_PER_VIDEO, "5"));
+        this.seedRatingsPerVideo = parseInt(env.getProperty(SEED_RATINGS_PER_VIDEO, "5"));
+        this.seedThreads = parseInt(env.getProperty(SEED_THREADS,
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        this.seedMaxInFlight = parseInt(env.getProperty(SEED_MAX_IN_FLIGHT, "512"));
 
         /**
-         * Need to set env variable KILLRVIDEO_DOCKER_IP before launching application
+         * Need to set env variable KILLRVIDEO_DOCKER_IP before launching application,
+         * unless KillrVideoServer is replaced by the in-process stand-in
          */
         final Optional<String> dockerIp = Optional.ofNullable(System.getenv(KILLRVIDEO_DOCKER_IP));
-        if (!dockerIp.isPresent()) {
+        if (!dockerIp.isPresent() && grpcInProcess) {
+
+            LOGGER.info("Using the in-process KillrVideo stand-in, docker ip is not needed");
+            this.dockerIp = "";
+
+        } else if (!dockerIp.isPresent()) {
 
             final String errorMessage = format("Cannot find environment variable %s. " +
                     "Please set it before launching KillrVideoServer", KILLRVIDEO_DOCKER_IP);
@@ -47,4 +249,18 @@ public class KillrVideoProperties {
             this.dockerIp = dockerIp.get();
         }
     }
+
+    /**
+     * A fresh backoff for one wait on a dependency (etcd, Cassandra, KillrVideoServer)
+     */
+    public Backoff newDiscoveryBackoff() {
+        return new Backoff(discoveryInitialBackoffInMillis, discoveryMaxBackoffInMillis, discoveryTimeoutInSeconds);
+    }
+
+    private static List<String> splitList(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(x -> !x.isEmpty())
+                .collect(toList());
+    }
 }
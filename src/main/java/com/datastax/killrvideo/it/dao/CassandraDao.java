@@ -1,12 +1,34 @@
 package com.datastax.killrvideo.it.dao;
 
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import javax.inject.Inject;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Repository;
 
 import com.datastax.driver.core.*;
+import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
+import com.google.common.util.concurrent.Futures;
 
 import info.archinnov.achilles.script.ScriptExecutor;
 
@@ -15,30 +37,227 @@ public class CassandraDao {
 
     private static Logger LOGGER = LoggerFactory.getLogger(CassandraDao.class);
 
+    public static final List<String> USER_TABLES = Collections.unmodifiableList(Arrays.asList(
+            "user_credentials", "users"));
+    public static final List<String> VIDEO_TABLES = Collections.unmodifiableList(Arrays.asList(
+            "videos", "user_videos", "latest_videos", "videos_by_tag", "tags_by_letter"));
+    public static final List<String> COMMENT_TABLES = Collections.unmodifiableList(Arrays.asList(
+            "comments_by_video", "comments_by_user"));
+    public static final List<String> RATING_TABLES = Collections.unmodifiableList(Arrays.asList(
+            "video_ratings", "video_ratings_by_user"));
+    public static final List<String> STATISTICS_TABLES = Collections.unmodifiableList(Arrays.asList(
+            "video_playback_stats"));
+
+    /**
+     * CQL in this class and in its callers names the 'killrvideo' keyspace, see {@link #qualify(String)}
+     */
+    public static final String DEFAULT_KEYSPACE = "killrvideo";
+    public static final String FIND_USER_BY_EMAIL = "SELECT * FROM killrvideo.user_credentials WHERE email = ?";
+    public static final String FIND_VIDEO_BY_ID = "SELECT added_date FROM killrvideo.videos WHERE videoid = ?";
+
+    private static final String SCHEMA_SCRIPT = "schema.cql";
+    private static final String SCHEMA_FINGERPRINT_TABLE = "it_schema_fingerprint";
+    private static final Pattern CREATE_TABLE_PATTERN = Pattern.compile(
+            "CREATE\\s+TABLE\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?killrvideo\\.(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CREATE_KEYSPACE_PATTERN = Pattern.compile(
+            "(CREATE\\s+KEYSPACE\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?)killrvideo\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern KEYSPACE_PREFIX_PATTERN = Pattern.compile("(?<![\\w.])killrvideo\\.");
+
+    private static final int TRUNCATE_TIMEOUT_IN_MILLIS = 60000;
+    private static final int MEASURE_FETCH_SIZE = 5000;
+    private static final long SCHEMA_AGREEMENT_TIMEOUT_IN_MILLIS = 10000;
 
     public final Session session;
-    public final PreparedStatement findUserByEmailPs;
-    public final PreparedStatement findVideoByIdPs;
+    public final String keyspace;
+    public final PreparedStatementRegistry statements;
+
+    /**
+     * KillrVideoServer is replaced by the in-process stand-in, nothing is written to Cassandra
+     */
+    private final boolean inProcess;
+
+    /**
+     * Tables known to be empty, i.e. truncated and not written since.
+     * Tables are considered dirty until truncated once, the state left by a previous run is unknown
+     */
+    private final Set<String> cleanTables = ConcurrentHashMap.newKeySet();
 
     @Inject
-    public CassandraDao(Session session) {
+    public CassandraDao(@Lazy Session session, KillrVideoProperties properties) {
         this.session = session;
-        maybeCreateSchema(session);
-        this.findUserByEmailPs = session.prepare("SELECT * FROM killrvideo.user_credentials WHERE email = ?");
-        this.findVideoByIdPs = session.prepare("SELECT added_date FROM killrvideo.videos WHERE videoid = ?");
+        this.keyspace = properties.cassandraKeyspace;
+        this.inProcess = properties.grpcInProcess;
+        this.statements = new PreparedStatementRegistry(session);
+        if (!inProcess) {
+            maybeCreateSchema(session);
+        }
+    }
+
+    /**
+     * Execute the given CQL as a prepared statement, prepared on first use then reused
+     */
+    public ResultSet execute(String cql, Object... values) {
+        return statements.execute(qualify(cql), values);
+    }
+
+    public Row getOne(String cql, Object... values) {
+        return statements.execute(qualify(cql), values).one();
+    }
+
+    /**
+     * Point the 'killrvideo.' table prefixes of the CQL to the configured keyspace
+     */
+    public String qualify(String cql) {
+        if (DEFAULT_KEYSPACE.equals(keyspace)) {
+            return cql;
+        }
+        return KEYSPACE_PREFIX_PATTERN.matcher(cql).replaceAll(Matcher.quoteReplacement(keyspace + "."));
     }
 
     public Row getOne(BoundStatement bs) {
-        return this.session.execute(bs).one();
+        return statements.execute(bs).one();
+    }
+
+    /**
+     * Read the whole partition page by page to count its rows and the bytes of their values
+     */
+    public PartitionSize measurePartition(String tablename, String partitionKeyColumn, Object partitionKey) {
+        final Statement statement = statements
+                .get(format("SELECT * FROM %s.%s WHERE %s = ?", keyspace, tablename, partitionKeyColumn))
+                .bind(partitionKey)
+                .setFetchSize(MEASURE_FETCH_SIZE);
+        long rowCount = 0;
+        long valueBytes = 0;
+        for (Row row : session.execute(statement)) {
+            rowCount++;
+            for (int i = 0; i < row.getColumnDefinitions().size(); i++) {
+                final ByteBuffer value = row.getBytesUnsafe(i);
+                valueBytes += value == null ? 0 : value.remaining();
+            }
+        }
+        return new PartitionSize(rowCount, valueBytes);
+    }
+
+    /**
+     * Record that the tables are about to be written, directly or through a KillrVideoServer RPC
+     */
+    public void markDirty(Collection<String> tablenames) {
+        cleanTables.removeAll(tablenames);
     }
 
-    public void truncate(String tablename) {
-        session.execute("TRUNCATE killrvideo." + tablename);
+    public void truncate(String... tablenames) {
+        truncate(Arrays.asList(tablenames));
     }
 
+    /**
+     * Truncate the dirty tables among the given ones, concurrently, then wait once for schema agreement.
+     * Clean tables are skipped, as is everything when KillrVideoServer is replaced by the in-process stand-in
+     */
+    public void truncate(Collection<String> tablenames) {
+        if (inProcess) {
+            return;
+        }
+        final List<String> dirtyTables = new ArrayList<>();
+        tablenames.stream()
+                .distinct()
+                .filter(x -> !cleanTables.contains(x))
+                .forEach(dirtyTables::add);
+
+        if (dirtyTables.isEmpty()) {
+            return;
+        }
+
+        LOGGER.debug(format("Truncating %s", String.join(", ", dirtyTables)));
+
+        final List<ResultSetFuture> truncations = new ArrayList<>(dirtyTables.size());
+        for (String tablename : dirtyTables) {
+            final Statement statement = new SimpleStatement("TRUNCATE " + keyspace + "." + tablename)
+                    .setReadTimeoutMillis(TRUNCATE_TIMEOUT_IN_MILLIS);
+            truncations.add(session.executeAsync(statement));
+        }
+
+        try {
+            Futures.allAsList(truncations).get();
+        } catch (Exception ex) {
+            throw new IllegalStateException(format("Cannot truncate tables %s", String.join(", ", dirtyTables)), ex);
+        }
+
+        waitForSchemaAgreement();
+        cleanTables.addAll(dirtyTables);
+    }
+
+    private void waitForSchemaAgreement() {
+        final Metadata metadata = session.getCluster().getMetadata();
+        final long deadline = System.currentTimeMillis() + SCHEMA_AGREEMENT_TIMEOUT_IN_MILLIS;
+        try {
+            while (!metadata.checkSchemaAgreement()) {
+                if (System.currentTimeMillis() > deadline) {
+                    LOGGER.warn(format("No schema agreement after %s ms, continuing", SCHEMA_AGREEMENT_TIMEOUT_IN_MILLIS));
+                    return;
+                }
+                TimeUnit.MILLISECONDS.sleep(200);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Replay 'schema.cql' only when its fingerprint differs from the one recorded by the last replay
+     * or when one of its tables went missing since
+     */
     private void maybeCreateSchema(Session session) {
-        LOGGER.info("Execute schema creation script 'schema.cql' if necessary");
-        final ScriptExecutor scriptExecutor = new ScriptExecutor(session);
-        scriptExecutor.executeScript("schema.cql");
+        final String script = readScript(SCHEMA_SCRIPT);
+        final String fingerprint = DigestUtils.sha256Hex(script);
+        if (isSchemaUpToDate(session, script, fingerprint)) {
+            LOGGER.info("Schema fingerprint {} unchanged, skip '{}'", fingerprint, SCHEMA_SCRIPT);
+            return;
+        }
+
+        LOGGER.info("Execute schema creation script '{}' with fingerprint {} in keyspace {}", SCHEMA_SCRIPT, fingerprint, keyspace);
+        final ScriptExecutor scriptExecutor = new ScriptExecutor(session) {
+            @Override
+            protected List<String> loadScriptAsLines(String scriptLocation, Map<String, Object> variables) {
+                return super.loadScriptAsLines(scriptLocation, variables)
+                        .stream()
+                        .map(line -> qualify(CREATE_KEYSPACE_PATTERN.matcher(line)
+                                .replaceAll("$1" + Matcher.quoteReplacement(keyspace))))
+                        .collect(toList());
+            }
+        };
+        scriptExecutor.executeScript(SCHEMA_SCRIPT);
+        session.execute("CREATE TABLE IF NOT EXISTS " + keyspace + "." + SCHEMA_FINGERPRINT_TABLE +
+                " (script text PRIMARY KEY, fingerprint text)");
+        session.execute("INSERT INTO " + keyspace + "." + SCHEMA_FINGERPRINT_TABLE +
+                " (script, fingerprint) VALUES (?, ?)", SCHEMA_SCRIPT, fingerprint);
+    }
+
+    private boolean isSchemaUpToDate(Session session, String script, String fingerprint) {
+        final KeyspaceMetadata keyspaceMetadata = session.getCluster().getMetadata().getKeyspace(keyspace);
+        if (keyspaceMetadata == null || keyspaceMetadata.getTable(SCHEMA_FINGERPRINT_TABLE) == null) {
+            return false;
+        }
+
+        final Matcher matcher = CREATE_TABLE_PATTERN.matcher(script);
+        while (matcher.find()) {
+            if (keyspaceMetadata.getTable(matcher.group(1)) == null) {
+                LOGGER.info("Table {}.{} is missing", keyspace, matcher.group(1));
+                return false;
+            }
+        }
+
+        final Row row = session.execute("SELECT fingerprint FROM " + keyspace + "." + SCHEMA_FINGERPRINT_TABLE +
+                " WHERE script = ?", SCHEMA_SCRIPT).one();
+        return row != null && fingerprint.equals(row.getString("fingerprint"));
+    }
+
+    private static String readScript(String resource) {
+        final InputStream stream = CassandraDao.class.getClassLoader().getResourceAsStream(resource);
+        if (stream == null) {
+            throw new IllegalStateException(format("Cannot find script '%s' in the classpath", resource));
+        }
+        try (Scanner scanner = new Scanner(stream, StandardCharsets.UTF_8.name())) {
+            return scanner.useDelimiter("\\A").hasNext() ? scanner.next() : "";
+        }
     }
 }
@@ -0,0 +1,55 @@
+package com.datastax.killrvideo.it.dao;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Request count, error count and latency histogram (in microseconds) of one Cassandra node
+ */
+public class HostStats {
+
+    private final String address;
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder errorCount = new LongAdder();
+
+    public HostStats(String address) {
+        this.address = address;
+    }
+
+    public void record(long latencyInNanos, boolean failed) {
+        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyInNanos));
+        if (failed) {
+            errorCount.increment();
+        }
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public long getRequestCount() {
+        return latencies.getTotalCount();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public double getTotalTimeInMillis() {
+        return latencies.getMean() * latencies.getTotalCount() / 1000.0;
+    }
+
+    /**
+     * Latency at the given percentile (0..100), in milliseconds
+     */
+    public double getLatencyInMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public Histogram getLatencies() {
+        return latencies.copy();
+    }
+}
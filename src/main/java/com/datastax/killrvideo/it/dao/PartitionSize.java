@@ -0,0 +1,27 @@
+package com.datastax.killrvideo.it.dao;
+
+/**
+ * Rows of one partition and the serialized size of their cell values, without Cassandra's storage overhead
+ */
+public class PartitionSize {
+
+    private final long rowCount;
+    private final long valueBytes;
+
+    public PartitionSize(long rowCount, long valueBytes) {
+        this.rowCount = rowCount;
+        this.valueBytes = valueBytes;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getValueBytes() {
+        return valueBytes;
+    }
+
+    public double getValueMegaBytes() {
+        return valueBytes / (1024.0 * 1024.0);
+    }
+}
@@ -0,0 +1,66 @@
+package com.datastax.killrvideo.it.dao;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Session;
+
+/**
+ * Prepared statements keyed by their CQL text.
+ * <br/>
+ * Each statement is prepared lazily on first use, exactly once even under concurrent access,
+ * then reused. Executions are timed per statement by the {@link QueryLatencyTracker}, which also sees
+ * the requests sent outside of the registry.
+ */
+public class PreparedStatementRegistry {
+
+    private final Session session;
+    private final ConcurrentMap<String, RegisteredStatement> statements = new ConcurrentHashMap<>();
+
+    public PreparedStatementRegistry(Session session) {
+        this.session = session;
+    }
+
+    public PreparedStatement get(String cql) {
+        return statements.computeIfAbsent(cql, RegisteredStatement::new).prepared();
+    }
+
+    public ResultSet execute(String cql, Object... values) {
+        return execute(get(cql).bind(values));
+    }
+
+    public ResultSet execute(BoundStatement bs) {
+        return session.execute(bs);
+    }
+
+    private class RegisteredStatement {
+
+        private final String cql;
+        private volatile PreparedStatement prepared;
+
+        RegisteredStatement(String cql) {
+            this.cql = cql;
+        }
+
+        /**
+         * Prepare outside of the map's lock so that a slow PREPARE round-trip
+         * only blocks the callers of this very statement
+         */
+        PreparedStatement prepared() {
+            PreparedStatement result = prepared;
+            if (result == null) {
+                synchronized (this) {
+                    result = prepared;
+                    if (result == null) {
+                        result = session.prepare(cql);
+                        prepared = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
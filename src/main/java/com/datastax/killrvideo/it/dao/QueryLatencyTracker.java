@@ -0,0 +1,144 @@
+package com.datastax.killrvideo.it.dao;
+
+import static java.lang.String.format;
+import static java.util.Comparator.comparingDouble;
+import static java.util.stream.Collectors.joining;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.LatencyTracker;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Statement;
+import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
+
+/**
+ * Registered on the {@link Cluster}, it sees every request sent by the harness: DAO verifications,
+ * truncations and schema scripts. Latencies are aggregated per statement and per Cassandra node,
+ * and requests slower than <em>killrvideo.cassandra.slow.query.millis</em> are logged
+ */
+@Component
+public class QueryLatencyTracker implements LatencyTracker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryLatencyTracker.class);
+
+    @Inject
+    private KillrVideoProperties properties;
+
+    private final ConcurrentMap<String, StatementStats> statsByStatement = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, HostStats> statsByHost = new ConcurrentHashMap<>();
+
+    @Override
+    public void update(Host host, Statement statement, Exception exception, long latencyInNanos) {
+        final String cql = queryStringOf(statement);
+        final String address = host.getSocketAddress().toString();
+        final boolean failed = exception != null;
+        statsByStatement.computeIfAbsent(cql, StatementStats::new).record(latencyInNanos, failed);
+        statsByHost.computeIfAbsent(address, HostStats::new).record(latencyInNanos, failed);
+
+        final long latencyInMillis = TimeUnit.NANOSECONDS.toMillis(latencyInNanos);
+        if (properties.cassandraSlowQueryInMillis > 0 && latencyInMillis >= properties.cassandraSlowQueryInMillis) {
+            LOGGER.warn(format("Slow query (%d ms) on %s%s: %s", latencyInMillis, address,
+                    failed ? " failed with " + exception : "", cql));
+        }
+    }
+
+    @Override
+    public void onRegister(Cluster cluster) {
+        LOGGER.info(format("Tracking CQL latencies on cluster %s, slow query threshold %d ms",
+                cluster.getClusterName(), properties.cassandraSlowQueryInMillis));
+    }
+
+    @Override
+    public void onUnregister(Cluster cluster) {
+    }
+
+    /**
+     * Stats of all the statements executed so far, most expensive (total time) first
+     */
+    public List<StatementStats> getStatementStats() {
+        final List<StatementStats> stats = new ArrayList<>(statsByStatement.values());
+        stats.sort(comparingDouble(StatementStats::getTotalTimeInMillis).reversed());
+        return stats;
+    }
+
+    public List<HostStats> getHostStats() {
+        final List<HostStats> stats = new ArrayList<>(statsByHost.values());
+        stats.sort(comparingDouble(HostStats::getTotalTimeInMillis).reversed());
+        return stats;
+    }
+
+    public double getTotalTimeInMillis() {
+        return statsByHost.values().stream().mapToDouble(HostStats::getTotalTimeInMillis).sum();
+    }
+
+    public String prettyPrint() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(format("%n===== CQL requests seen by the driver: %.1f ms in total =====%n", getTotalTimeInMillis()));
+        builder.append(format("%10s %8s %12s %10s %10s %10s  %s%n",
+                "count", "errors", "total (ms)", "p50 (ms)", "p99 (ms)", "max (ms)", "host"));
+        for (HostStats stats : getHostStats()) {
+            builder.append(format("%10d %8d %12.1f %10.2f %10.2f %10.2f  %s%n",
+                    stats.getRequestCount(),
+                    stats.getErrorCount(),
+                    stats.getTotalTimeInMillis(),
+                    stats.getLatencyInMillis(50),
+                    stats.getLatencyInMillis(99),
+                    stats.getLatencyInMillis(100),
+                    stats.getAddress()));
+        }
+        builder.append(format("%10s %8s %12s %10s %10s %10s  %s%n",
+                "count", "errors", "total (ms)", "p50 (ms)", "p99 (ms)", "max (ms)", "statement"));
+        for (StatementStats stats : getStatementStats()) {
+            builder.append(format("%10d %8d %12.1f %10.2f %10.2f %10.2f  %s%n",
+                    stats.getExecutionCount(),
+                    stats.getErrorCount(),
+                    stats.getTotalTimeInMillis(),
+                    stats.getLatencyInMillis(50),
+                    stats.getLatencyInMillis(99),
+                    stats.getLatencyInMillis(100),
+                    stats.getCql()));
+        }
+        return builder.toString();
+    }
+
+    @PreDestroy
+    public void logLatencies() {
+        if (!statsByHost.isEmpty()) {
+            LOGGER.info(prettyPrint());
+        }
+    }
+
+    /**
+     * Bound statements are aggregated under their prepared query string and batches under their distinct
+     * inner statements, so that values and batch sizes never split the stats
+     */
+    private static String queryStringOf(Statement statement) {
+        if (statement instanceof BoundStatement) {
+            return ((BoundStatement) statement).preparedStatement().getQueryString();
+        } else if (statement instanceof RegularStatement) {
+            return ((RegularStatement) statement).getQueryString();
+        } else if (statement instanceof BatchStatement) {
+            return ((BatchStatement) statement).getStatements()
+                    .stream()
+                    .map(QueryLatencyTracker::queryStringOf)
+                    .distinct()
+                    .collect(joining("; ", "BATCH ", ""));
+        } else {
+            return statement.getClass().getSimpleName();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.datastax.killrvideo.it.dao;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Execution count, error count and latency histogram (in microseconds) of one CQL statement
+ */
+public class StatementStats {
+
+    private final String cql;
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder executionCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+
+    public StatementStats(String cql) {
+        this.cql = cql;
+    }
+
+    public void record(long latencyInNanos, boolean failed) {
+        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyInNanos));
+        executionCount.increment();
+        if (failed) {
+            errorCount.increment();
+        }
+    }
+
+    public String getCql() {
+        return cql;
+    }
+
+    public long getExecutionCount() {
+        return executionCount.sum();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public double getTotalTimeInMillis() {
+        return latencies.getMean() * latencies.getTotalCount() / 1000.0;
+    }
+
+    /**
+     * Latency at the given percentile (0..100), in milliseconds
+     */
+    public double getLatencyInMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public Histogram getLatencies() {
+        return latencies.copy();
+    }
+}
@@ -0,0 +1,76 @@
+package com.datastax.killrvideo.it.grpc;
+
+import static java.lang.String.format;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How a {@link BalancingChannel} picks the KillrVideoServer instance of each call
+ */
+public enum Balancing {
+
+    /**
+     * Only the instance registered as &lt;applicationName&gt;:&lt;applicationInstanceId&gt;
+     */
+    SINGLE {
+        @Override
+        int select(List<InstanceStats> instances) {
+            return 0;
+        }
+    },
+
+    /**
+     * Power of two choices: the less loaded of two instances picked at random
+     */
+    P2C {
+        @Override
+        int select(List<InstanceStats> instances) {
+            final int size = instances.size();
+            if (size == 1) {
+                return 0;
+            }
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final int first = random.nextInt(size);
+            final int second = (first + 1 + random.nextInt(size - 1)) % size;
+            return instances.get(second).getOutstanding() < instances.get(first).getOutstanding() ? second : first;
+        }
+    },
+
+    /**
+     * The instance with the fewest outstanding calls, ties broken by a random starting point
+     */
+    LEAST_OUTSTANDING {
+        @Override
+        int select(List<InstanceStats> instances) {
+            final int size = instances.size();
+            final int start = ThreadLocalRandom.current().nextInt(size);
+            int selected = start;
+            int minOutstanding = Integer.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                final int index = (start + i) % size;
+                final int outstanding = instances.get(index).getOutstanding();
+                if (outstanding < minOutstanding) {
+                    minOutstanding = outstanding;
+                    selected = index;
+                }
+            }
+            return selected;
+        }
+    };
+
+    abstract int select(List<InstanceStats> instances);
+
+    /**
+     * Parse "single", "p2c" or "least-outstanding"
+     */
+    public static Balancing fromName(String name) {
+        final String normalized = name.trim().toUpperCase().replace('-', '_');
+        return Arrays.stream(values())
+                .filter(x -> x.name().equals(normalized))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(format("Unknown balancing '%s', expected one of %s",
+                        name, Arrays.toString(values()).toLowerCase().replace('_', '-'))));
+    }
+}
@@ -0,0 +1,70 @@
+package com.datastax.killrvideo.it.grpc;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+/**
+ * Spreads calls over several KillrVideoServer instances, each reached through its own channel.
+ * Every call is counted as outstanding on its instance from start to close,
+ * which feeds both the selection and the per-instance latency stats
+ */
+public class BalancingChannel extends Channel {
+
+    private final Balancing balancing;
+    private final List<Channel> channels;
+    private final List<InstanceStats> instances;
+
+    public BalancingChannel(Balancing balancing, List<Channel> channels, List<InstanceStats> instances) {
+        if (channels.isEmpty() || channels.size() != instances.size()) {
+            throw new IllegalArgumentException(format("Expected one InstanceStats per channel, got %s channels and %s stats",
+                    channels.size(), instances.size()));
+        }
+        this.balancing = balancing;
+        this.channels = new ArrayList<>(channels);
+        this.instances = new ArrayList<>(instances);
+    }
+
+    public List<InstanceStats> getInstances() {
+        return Collections.unmodifiableList(instances);
+    }
+
+    @Override
+    public <RequestT, ResponseT> ClientCall<RequestT, ResponseT> newCall(
+            MethodDescriptor<RequestT, ResponseT> methodDescriptor, CallOptions callOptions) {
+        final int index = balancing.select(instances);
+        final InstanceStats stats = instances.get(index);
+        return new ForwardingClientCall.SimpleForwardingClientCall<RequestT, ResponseT>(
+                channels.get(index).newCall(methodDescriptor, callOptions)) {
+
+            @Override
+            public void start(Listener<ResponseT> responseListener, Metadata headers) {
+                final long startInNanos = System.nanoTime();
+                stats.callStarted();
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<ResponseT>(responseListener) {
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        stats.callCompleted(System.nanoTime() - startInNanos, !status.isOk());
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+        };
+    }
+
+    @Override
+    public String authority() {
+        return channels.get(0).authority();
+    }
+}
@@ -0,0 +1,35 @@
+package com.datastax.killrvideo.it.grpc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.google.common.io.ByteStreams;
+
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+/**
+ * Passes serialized protobuf messages through untouched, to call a method without its generated stub
+ */
+public class ByteArrayMarshaller implements MethodDescriptor.Marshaller<byte[]> {
+
+    public static final ByteArrayMarshaller INSTANCE = new ByteArrayMarshaller();
+
+    private ByteArrayMarshaller() {
+    }
+
+    @Override
+    public InputStream stream(byte[] value) {
+        return new ByteArrayInputStream(value);
+    }
+
+    @Override
+    public byte[] parse(InputStream stream) {
+        try {
+            return ByteStreams.toByteArray(stream);
+        } catch (IOException e) {
+            throw Status.INTERNAL.withCause(e).asRuntimeException();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.datastax.killrvideo.it.grpc;
+
+/**
+ * One request read from a traffic log: full method name, send time relative to the start of the capture,
+ * and the serialized protobuf request
+ */
+public class CapturedCall {
+
+    private final String fullMethodName;
+    private final long offsetInNanos;
+    private final byte[] request;
+
+    public CapturedCall(String fullMethodName, long offsetInNanos, byte[] request) {
+        this.fullMethodName = fullMethodName;
+        this.offsetInNanos = offsetInNanos;
+        this.request = request;
+    }
+
+    public String getFullMethodName() {
+        return fullMethodName;
+    }
+
+    /**
+     * Service part of the full method name, without its package (e.g. <em>UserManagementService</em>),
+     * as registered in etcd
+     */
+    public String getServiceName() {
+        final String service = fullMethodName.substring(0, fullMethodName.indexOf('/'));
+        return service.substring(service.lastIndexOf('.') + 1);
+    }
+
+    public String getMethodName() {
+        return fullMethodName.substring(fullMethodName.indexOf('/') + 1);
+    }
+
+    public long getOffsetInNanos() {
+        return offsetInNanos;
+    }
+
+    public byte[] getRequest() {
+        return request;
+    }
+}
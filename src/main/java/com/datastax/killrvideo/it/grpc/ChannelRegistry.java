@@ -0,0 +1,322 @@
+package com.datastax.killrvideo.it.grpc;
+
+import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.USER_SERVICE_NAME;
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
+import com.datastax.killrvideo.it.standin.StandInServer;
+import com.datastax.killrvideo.it.util.Backoff;
+import com.datastax.killrvideo.it.util.HostAndPortSplitter;
+import com.datastax.killrvideo.it.util.ServiceChecker;
+import com.xqbase.etcd4j.EtcdClient;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptors;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.MethodDescriptor;
+
+/**
+ * One channel per KillrVideo service, resolved from etcd.
+ * With {@link Balancing#SINGLE} a service is reached through its own key
+ * <em>killrvideo/services/&lt;service&gt;/&lt;applicationName&gt;:&lt;applicationInstanceId&gt;</em>,
+ * otherwise calls are spread across the instances of the application listed under
+ * <em>killrvideo/services/&lt;service&gt;/&lt;applicationName&gt;:</em> that answer their health check.
+ * That listing is refreshed every <em>killrvideo.discovery.refresh.seconds</em>, so that instances joining,
+ * leaving or failing their health check are picked up by the {@link BalancingChannel} of the service.
+ * Services registered on the same host:port share a single {@link ManagedChannel} and {@link InstanceStats}.
+ * Every channel records per-method latencies through the {@link RpcMetricsInterceptor}
+ * and, when enabled, captures the requests through the {@link TrafficRecorder}.
+ * With <em>killrvideo.grpc.in.process</em>, every service is reached on the in-process {@link StandInServer}
+ * instead, etcd is never contacted
+ */
+@Component
+public class ChannelRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChannelRegistry.class);
+
+    private static final long SHUTDOWN_TIMEOUT_IN_SECONDS = 5;
+    private static final String IN_PROCESS_ADDRESS = "in-process";
+
+    @Inject
+    @Lazy
+    private EtcdClient etcdClient;
+
+    @Inject
+    private KillrVideoProperties properties;
+
+    @Inject
+    private RpcMetricsInterceptor rpcMetrics;
+
+    @Inject
+    private TrafficRecorder trafficRecorder;
+
+    @Inject
+    private StandInServer standIn;
+
+    private final Map<String, ServiceChannel> channelsByService = new ConcurrentHashMap<>();
+    private final Map<String, ManagedChannel> channelsByAddress = new ConcurrentHashMap<>();
+    private final Map<String, InstanceStats> statsByAddress = new ConcurrentSkipListMap<>();
+    private ScheduledExecutorService refresher;
+
+    /**
+     * Block the context startup until KillrVideoServer is up
+     */
+    @PostConstruct
+    public void awaitKillrVideoServer() {
+        resolve(USER_SERVICE_NAME);
+        if (properties.grpcInProcess || properties.grpcBalancing == Balancing.SINGLE || properties.discoveryRefreshInSeconds <= 0) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(task -> {
+            final Thread thread = new Thread(task, "killrvideoit-discovery");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshInstances, properties.discoveryRefreshInSeconds,
+                properties.discoveryRefreshInSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Channel for the given service, resolved on its first call so that stubs can be created
+     * for services the server does not implement
+     */
+    public Channel get(String serviceName) {
+        return channelsByService.computeIfAbsent(serviceName, ServiceChannel::new);
+    }
+
+    /**
+     * Resolve the service now, waiting for its registration and readiness
+     */
+    public Channel resolve(String serviceName) {
+        return channelsByService.computeIfAbsent(serviceName, ServiceChannel::new).resolve();
+    }
+
+    public String serviceKey(String serviceName) {
+        return serviceDirectory(serviceName)
+                + "/"
+                + properties.applicationName
+                + ":"
+                + properties.applicationInstanceId;
+    }
+
+    public String serviceDirectory(String serviceName) {
+        return "killrvideo/services/" + serviceName;
+    }
+
+    public List<InstanceStats> getInstanceStats() {
+        return new ArrayList<>(statsByAddress.values());
+    }
+
+    public String prettyPrintInstanceStats() {
+        final StringBuilder builder = new StringBuilder(format("%nKillrVideoServer instances (%s balancing)%n",
+                properties.grpcBalancing.name().toLowerCase()));
+        builder.append(format("%-24s %10s %8s %11s %9s %9s%n", "Instance", "Calls", "Errors", "Outstanding", "p50 ms", "p99 ms"));
+        for (InstanceStats stats : statsByAddress.values()) {
+            builder.append(format("%-24s %10d %8d %11d %9.2f %9.2f%n",
+                    stats.getHostAndPort(),
+                    stats.getCallCount(),
+                    stats.getErrorCount(),
+                    stats.getOutstanding(),
+                    stats.getLatencyInMillis(50),
+                    stats.getLatencyInMillis(99)));
+        }
+        return builder.toString();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher.awaitTermination(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+        }
+        channelsByAddress.values().forEach(ManagedChannel::shutdown);
+        for (ManagedChannel channel : channelsByAddress.values()) {
+            if (!channel.awaitTermination(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+                channel.shutdownNow();
+            }
+        }
+    }
+
+    private BalancingChannel connect(String serviceName) {
+        if (properties.grpcInProcess) {
+            LOGGER.info(format("Service %s resolved to the in-process stand-in", serviceName));
+            return new BalancingChannel(properties.grpcBalancing,
+                    Collections.singletonList(ClientInterceptors.intercept(standIn.getChannel(), rpcMetrics, trafficRecorder)),
+                    Collections.singletonList(statsByAddress.computeIfAbsent(IN_PROCESS_ADDRESS, InstanceStats::new)));
+        }
+
+        try {
+            if (properties.grpcBalancing == Balancing.SINGLE) {
+                final String hostAndPort = ServiceChecker.waitForRegistration(etcdClient,
+                        serviceKey(serviceName), properties.newDiscoveryBackoff());
+                LOGGER.info(format("Service %s resolved to %s", serviceName, hostAndPort));
+                return new BalancingChannel(properties.grpcBalancing,
+                        Collections.singletonList(intercept(connectTo(serviceName, hostAndPort))),
+                        Collections.singletonList(statsByAddress.computeIfAbsent(hostAndPort, InstanceStats::new)));
+            }
+            final Backoff backoff = properties.newDiscoveryBackoff();
+            while (true) {
+                final BalancingChannel channel = balanceOver(serviceName, ServiceChecker.waitForInstances(etcdClient,
+                        serviceDirectory(serviceName), properties.applicationName, backoff));
+                if (channel != null) {
+                    LOGGER.info(format("Service %s resolved to %s", serviceName, addresses(channel.getInstances())));
+                    return channel;
+                }
+                backoff.pause(format("a healthy instance of service %s", serviceName));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(format("Interrupted while looking up service name %s from etcd", serviceName), e);
+        }
+    }
+
+    /**
+     * Balance over the listed instances answering their health check, null when none does.
+     * Instances failing it are left out until a later refresh finds them healthy
+     */
+    private BalancingChannel balanceOver(String serviceName, List<String> addresses) {
+        final List<Channel> channels = new ArrayList<>(addresses.size());
+        final List<InstanceStats> instances = new ArrayList<>(addresses.size());
+        for (String hostAndPort : addresses) {
+            if (!HostAndPortSplitter.HOST_AND_PORT_PATTERN.matcher(hostAndPort).matches()) {
+                LOGGER.warn(format("Instance '%s' of service %s is not a valid host:port, left out", hostAndPort, serviceName));
+                continue;
+            }
+            final ManagedChannel channel = channelTo(serviceName, hostAndPort);
+            if (!ServiceChecker.isGrpcServiceReady("KillrVideoServer " + serviceName, channel)) {
+                LOGGER.warn(format("Instance %s of service %s does not answer its health check, left out", hostAndPort, serviceName));
+                continue;
+            }
+            channels.add(intercept(channel));
+            instances.add(statsByAddress.computeIfAbsent(hostAndPort, InstanceStats::new));
+        }
+        if (channels.isEmpty()) {
+            return null;
+        }
+        return new BalancingChannel(properties.grpcBalancing, channels, instances);
+    }
+
+    /**
+     * List the instances of every resolved service again, and switch its calls to the new listing when it changed.
+     * A service without any healthy instance left keeps its current ones, whose calls then fail
+     */
+    private void refreshInstances() {
+        for (ServiceChannel service : channelsByService.values()) {
+            final BalancingChannel current = service.delegate;
+            if (current == null) {
+                continue;
+            }
+            try {
+                final BalancingChannel refreshed = balanceOver(service.serviceName, ServiceChecker.listInstances(etcdClient,
+                        serviceDirectory(service.serviceName), properties.applicationName));
+                if (refreshed == null) {
+                    LOGGER.warn(format("No healthy instance of service %s left, keeping %s",
+                            service.serviceName, addresses(current.getInstances())));
+                } else if (!addresses(refreshed.getInstances()).equals(addresses(current.getInstances()))) {
+                    LOGGER.info(format("Service %s now resolved to %s", service.serviceName, addresses(refreshed.getInstances())));
+                    service.delegate = refreshed;
+                }
+            } catch (RuntimeException e) {
+                LOGGER.warn(format("Cannot refresh the instances of service %s", service.serviceName), e);
+            }
+        }
+    }
+
+    private static List<String> addresses(List<InstanceStats> instances) {
+        final List<String> addresses = new ArrayList<>(instances.size());
+        instances.forEach(x -> addresses.add(x.getHostAndPort()));
+        return addresses;
+    }
+
+    /**
+     * Channel to the address, waiting for the instance to answer its health check
+     */
+    private ManagedChannel connectTo(String serviceName, String hostAndPort) throws InterruptedException {
+        HostAndPortSplitter.ensureValidFormat(hostAndPort,
+                format("The %s is not a valid host:port format", hostAndPort));
+        final ManagedChannel channel = channelTo(serviceName, hostAndPort);
+        ServiceChecker.waitForGrpcService("KillrVideoServer " + serviceName, channel, properties.newDiscoveryBackoff());
+        return channel;
+    }
+
+    /**
+     * Calls are measured and captured, health checks are sent on the bare channel so that they are neither
+     */
+    private Channel intercept(ManagedChannel channel) {
+        return ClientInterceptors.intercept(channel, rpcMetrics, trafficRecorder);
+    }
+
+    /**
+     * One channel per address, created on first use. Building a channel does not connect,
+     * so that health checks happen outside of the channel map
+     */
+    private ManagedChannel channelTo(String serviceName, String hostAndPort) {
+        return channelsByAddress.computeIfAbsent(hostAndPort, x -> {
+            LOGGER.info(format("Creating channel to %s for service %s", hostAndPort, serviceName));
+            return ManagedChannelBuilder
+                    .forAddress(HostAndPortSplitter.extractAddress(hostAndPort), HostAndPortSplitter.extractPort(hostAndPort))
+                    .usePlaintext(true)
+                    .build();
+        });
+    }
+
+    /**
+     * Resolves its service on first use, then delegates every call to the resolved channel,
+     * replaced whenever a refresh finds other instances
+     */
+    private class ServiceChannel extends Channel {
+
+        private final String serviceName;
+        private volatile BalancingChannel delegate;
+
+        private ServiceChannel(String serviceName) {
+            this.serviceName = serviceName;
+        }
+
+        private Channel resolve() {
+            BalancingChannel channel = delegate;
+            if (channel == null) {
+                synchronized (this) {
+                    channel = delegate;
+                    if (channel == null) {
+                        channel = connect(serviceName);
+                        delegate = channel;
+                    }
+                }
+            }
+            return channel;
+        }
+
+        @Override
+        public <RequestT, ResponseT> ClientCall<RequestT, ResponseT> newCall(
+                MethodDescriptor<RequestT, ResponseT> methodDescriptor, CallOptions callOptions) {
+            return resolve().newCall(methodDescriptor, callOptions);
+        }
+
+        @Override
+        public String authority() {
+            return resolve().authority();
+        }
+    }
+}
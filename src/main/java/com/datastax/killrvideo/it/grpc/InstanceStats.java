@@ -0,0 +1,65 @@
+package com.datastax.killrvideo.it.grpc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outstanding calls and latency statistics for one KillrVideoServer instance (host:port), across all services.
+ * Latencies are recorded in microseconds
+ */
+public class InstanceStats {
+
+    private final String hostAndPort;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder callCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+
+    public InstanceStats(String hostAndPort) {
+        this.hostAndPort = hostAndPort;
+    }
+
+    void callStarted() {
+        outstanding.incrementAndGet();
+    }
+
+    void callCompleted(long latencyInNanos, boolean failed) {
+        outstanding.decrementAndGet();
+        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyInNanos));
+        callCount.increment();
+        if (failed) {
+            errorCount.increment();
+        }
+    }
+
+    public String getHostAndPort() {
+        return hostAndPort;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public long getCallCount() {
+        return callCount.sum();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    /**
+     * Latency at the given percentile (0..100), in milliseconds
+     */
+    public double getLatencyInMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public Histogram getLatencies() {
+        return latencies.copy();
+    }
+}
@@ -0,0 +1,109 @@
+package com.datastax.killrvideo.it.grpc;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import io.grpc.Status;
+
+/**
+ * Latency, status codes and payload sizes of one fully-qualified gRPC method
+ * (e.g. <em>killrvideo.video_catalog.VideoCatalogService/GetLatestVideoPreviews</em>).
+ * Latencies are recorded in microseconds, both for the whole run and for the current log interval
+ */
+public class MethodStats {
+
+    private final String fullMethodName;
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final Recorder intervalLatencies = new Recorder(3);
+    private final LongAdder[] statusCounts = new LongAdder[Status.Code.values().length];
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder responseCount = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+
+    public MethodStats(String fullMethodName) {
+        this.fullMethodName = fullMethodName;
+        for (int i = 0; i < statusCounts.length; i++) {
+            statusCounts[i] = new LongAdder();
+        }
+    }
+
+    void requestSent(int sizeInBytes) {
+        requestCount.increment();
+        requestBytes.add(sizeInBytes);
+    }
+
+    void responseReceived(int sizeInBytes) {
+        responseCount.increment();
+        responseBytes.add(sizeInBytes);
+    }
+
+    void callClosed(long latencyInNanos, Status status) {
+        final long latencyInMicros = TimeUnit.NANOSECONDS.toMicros(latencyInNanos);
+        latencies.recordValue(latencyInMicros);
+        intervalLatencies.recordValue(latencyInMicros);
+        statusCounts[status.getCode().ordinal()].increment();
+    }
+
+    public String getFullMethodName() {
+        return fullMethodName;
+    }
+
+    public long getCallCount() {
+        return latencies.getTotalCount();
+    }
+
+    public long getErrorCount() {
+        return getCallCount() - statusCounts[Status.Code.OK.ordinal()].sum();
+    }
+
+    /**
+     * Calls per status code, codes never returned are omitted
+     */
+    public Map<Status.Code, Long> getStatusCounts() {
+        final Map<Status.Code, Long> counts = new TreeMap<>();
+        for (Status.Code code : Status.Code.values()) {
+            final long count = statusCounts[code.ordinal()].sum();
+            if (count > 0) {
+                counts.put(code, count);
+            }
+        }
+        return counts;
+    }
+
+    public double getMeanRequestBytes() {
+        final long count = requestCount.sum();
+        return count == 0 ? 0 : (double) requestBytes.sum() / count;
+    }
+
+    public double getMeanResponseBytes() {
+        final long count = responseCount.sum();
+        return count == 0 ? 0 : (double) responseBytes.sum() / count;
+    }
+
+    /**
+     * Latency at the given percentile (0..100), in milliseconds
+     */
+    public double getLatencyInMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public Histogram getLatencies() {
+        return latencies.copy();
+    }
+
+    /**
+     * Latencies recorded since the previous call, tagged with the method name
+     */
+    Histogram takeIntervalLatencies() {
+        final Histogram interval = intervalLatencies.getIntervalHistogram();
+        interval.setTag(fullMethodName);
+        return interval;
+    }
+}
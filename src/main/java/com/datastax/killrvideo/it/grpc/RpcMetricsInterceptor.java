@@ -0,0 +1,181 @@
+package com.datastax.killrvideo.it.grpc;
+
+import static java.lang.String.format;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.HdrHistogram.HistogramLogWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
+import com.google.protobuf.MessageLite;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+/**
+ * Installed on every channel of the {@link ChannelRegistry}: records latency, status codes and payload sizes
+ * per fully-qualified method, so that both the Cucumber features and the load runs produce latency data.
+ * Interval histograms of all methods are written every <em>killrvideo.grpc.metrics.interval.seconds</em>
+ * to a single HdrHistogram log under <em>killrvideo.grpc.metrics.dir</em>, tagged with the method name
+ */
+@Component
+public class RpcMetricsInterceptor implements ClientInterceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RpcMetricsInterceptor.class);
+
+    /**
+     * Interval max values are logged in milliseconds
+     */
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    @Inject
+    private KillrVideoProperties properties;
+
+    private final Map<String, MethodStats> statsByMethod = new ConcurrentSkipListMap<>();
+    private final long startTimeInMillis = System.currentTimeMillis();
+    private ScheduledExecutorService scheduler;
+    private PrintStream logStream;
+    private HistogramLogWriter logWriter;
+    private long intervalStartInMillis;
+
+    @PostConstruct
+    public void startIntervalLog() throws FileNotFoundException {
+        if (properties.grpcMetricsIntervalInSeconds <= 0) {
+            return;
+        }
+        final File directory = new File(properties.grpcMetricsDirectory);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalStateException(format("Cannot create the gRPC metrics directory %s", directory.getAbsolutePath()));
+        }
+        final File logFile = new File(directory, format("rpc-latency-%s-%s.hlog",
+                properties.applicationInstanceId,
+                new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date(startTimeInMillis))));
+        LOGGER.info(format("Writing gRPC latency interval histograms (microseconds) to %s", logFile.getAbsolutePath()));
+
+        logStream = new PrintStream(logFile);
+        logWriter = new HistogramLogWriter(logStream);
+        logWriter.outputLogFormatVersion();
+        logWriter.outputStartTime(startTimeInMillis);
+        logWriter.setBaseTime(startTimeInMillis);
+        logWriter.outputLegend();
+        intervalStartInMillis = startTimeInMillis;
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            final Thread thread = new Thread(task, "killrvideoit-rpc-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::writeIntervals, properties.grpcMetricsIntervalInSeconds,
+                properties.grpcMetricsIntervalInSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public <RequestT, ResponseT> ClientCall<RequestT, ResponseT> interceptCall(
+            MethodDescriptor<RequestT, ResponseT> methodDescriptor, CallOptions callOptions, Channel next) {
+        final MethodStats stats = statsByMethod.computeIfAbsent(methodDescriptor.getFullMethodName(), MethodStats::new);
+        return new ForwardingClientCall.SimpleForwardingClientCall<RequestT, ResponseT>(
+                next.newCall(methodDescriptor, callOptions)) {
+
+            @Override
+            public void start(Listener<ResponseT> responseListener, Metadata headers) {
+                final long startInNanos = System.nanoTime();
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<ResponseT>(responseListener) {
+                    @Override
+                    public void onMessage(ResponseT message) {
+                        stats.responseReceived(sizeOf(message));
+                        super.onMessage(message);
+                    }
+
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        stats.callClosed(System.nanoTime() - startInNanos, status);
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+
+            @Override
+            public void sendMessage(RequestT message) {
+                stats.requestSent(sizeOf(message));
+                super.sendMessage(message);
+            }
+        };
+    }
+
+    public List<MethodStats> getMethodStats() {
+        return new ArrayList<>(statsByMethod.values());
+    }
+
+    public String prettyPrint() {
+        final StringBuilder builder = new StringBuilder(format("%ngRPC calls by method%n"));
+        builder.append(format("%-72s %8s %7s %9s %9s %9s %9s %9s  %s%n",
+                "Method", "Calls", "Errors", "p50 ms", "p99 ms", "p999 ms", "Req B", "Resp B", "Status codes"));
+        for (MethodStats stats : statsByMethod.values()) {
+            builder.append(format("%-72s %8d %7d %9.2f %9.2f %9.2f %9.0f %9.0f  %s%n",
+                    stats.getFullMethodName(),
+                    stats.getCallCount(),
+                    stats.getErrorCount(),
+                    stats.getLatencyInMillis(50),
+                    stats.getLatencyInMillis(99),
+                    stats.getLatencyInMillis(99.9),
+                    stats.getMeanRequestBytes(),
+                    stats.getMeanResponseBytes(),
+                    stats.getStatusCounts()));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Flush the last interval then log the summary
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            writeIntervals();
+            logStream.close();
+        }
+        if (!statsByMethod.isEmpty()) {
+            LOGGER.info(prettyPrint());
+        }
+    }
+
+    private synchronized void writeIntervals() {
+        final long intervalEndInMillis = System.currentTimeMillis();
+        for (MethodStats stats : statsByMethod.values()) {
+            logWriter.outputIntervalHistogram(intervalStartInMillis / 1000.0, intervalEndInMillis / 1000.0,
+                    stats.takeIntervalLatencies(), MICROS_PER_MILLI);
+        }
+        logStream.flush();
+        intervalStartInMillis = intervalEndInMillis;
+    }
+
+    private static int sizeOf(Object message) {
+        return message instanceof MessageLite ? ((MessageLite) message).getSerializedSize() : 0;
+    }
+}
@@ -0,0 +1,107 @@
+package com.datastax.killrvideo.it.grpc;
+
+import static com.datastax.killrvideo.it.grpc.TrafficLogWriter.CHUNK_SIZE;
+import static com.datastax.killrvideo.it.grpc.TrafficLogWriter.MAGIC;
+import static com.datastax.killrvideo.it.grpc.TrafficLogWriter.RECORD_HEADER_SIZE;
+import static com.datastax.killrvideo.it.grpc.TrafficLogWriter.VERSION;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads back, in order, the requests of a log written by the {@link TrafficLogWriter}.
+ * The file is mapped by chunks, so only the records being replayed are in memory
+ */
+public class TrafficLogReader implements Iterator<CapturedCall>, Closeable {
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long size;
+    private MappedByteBuffer buffer;
+    private long bufferPosition;
+    private CapturedCall next;
+
+    public TrafficLogReader(File logFile) throws IOException {
+        this.file = new RandomAccessFile(logFile, "r");
+        this.channel = file.getChannel();
+        this.size = channel.size();
+        if (size < 2 * Integer.BYTES) {
+            file.close();
+            throw new IllegalArgumentException(format("%s is not a traffic log, it is only %d bytes long", logFile, size));
+        }
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, CHUNK_SIZE));
+        final int magic = buffer.getInt();
+        final int version = buffer.getInt();
+        if (magic != MAGIC || version != VERSION) {
+            file.close();
+            throw new IllegalArgumentException(format("%s is not a traffic log of version %d", logFile, VERSION));
+        }
+        this.next = readNext();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public CapturedCall next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        final CapturedCall call = next;
+        try {
+            next = readNext();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read the traffic log", e);
+        }
+        return call;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private CapturedCall readNext() throws IOException {
+        ensureMapped(Integer.BYTES);
+        if (buffer.remaining() < Integer.BYTES) {
+            return null;
+        }
+        final int length = buffer.getInt();
+        if (length == 0) {
+            return null;
+        }
+        ensureMapped(length);
+        if (length < RECORD_HEADER_SIZE || buffer.remaining() < length) {
+            throw new IllegalStateException(format("Truncated traffic log record of %d bytes at offset %d",
+                    length, bufferPosition + buffer.position()));
+        }
+        final long offsetInNanos = buffer.getLong();
+        final byte[] method = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(method);
+        final byte[] request = new byte[length - RECORD_HEADER_SIZE - method.length];
+        buffer.get(request);
+        return new CapturedCall(new String(method, UTF_8), offsetInNanos, request);
+    }
+
+    /**
+     * Remap from the current position when the next bytes run past the mapped chunk
+     */
+    private void ensureMapped(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        bufferPosition += buffer.position();
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, bufferPosition,
+                Math.min(size - bufferPosition, Math.max(CHUNK_SIZE, bytes)));
+    }
+}
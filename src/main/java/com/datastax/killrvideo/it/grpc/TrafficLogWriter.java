@@ -0,0 +1,83 @@
+package com.datastax.killrvideo.it.grpc;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Appends requests to a traffic log through a memory-mapped file, mapped by chunks of {@link #CHUNK_SIZE} bytes.
+ * <br/>
+ * The log starts with {@link #MAGIC} and {@link #VERSION}, then holds one length-delimited record per request:
+ * <pre>
+ * int    length of the rest of the record
+ * long   nanoseconds since the log was opened
+ * short  length of the full method name
+ * byte[] full method name, UTF-8
+ * byte[] serialized protobuf request
+ * </pre>
+ * A zero length ends the log, which is also what an unused mapped area reads as if the harness did not close it
+ */
+public class TrafficLogWriter implements Closeable {
+
+    public static final int MAGIC = 0x4B565452;
+    public static final int VERSION = 1;
+    static final int CHUNK_SIZE = 64 * 1024 * 1024;
+    static final int RECORD_HEADER_SIZE = Long.BYTES + Short.BYTES;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long startNanos = System.nanoTime();
+    private MappedByteBuffer buffer;
+    private long bufferPosition;
+    private boolean closed;
+
+    public TrafficLogWriter(File logFile) throws IOException {
+        this.file = new RandomAccessFile(logFile, "rw");
+        this.file.setLength(0);
+        this.channel = file.getChannel();
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, CHUNK_SIZE);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+    }
+
+    /**
+     * Thread-safe, records are appended in the order of the calls. Requests sent after close are dropped
+     */
+    public synchronized void append(String fullMethodName, byte[] request) throws IOException {
+        if (closed) {
+            return;
+        }
+        final long offsetInNanos = System.nanoTime() - startNanos;
+        final byte[] method = fullMethodName.getBytes(UTF_8);
+        final int length = RECORD_HEADER_SIZE + method.length + request.length;
+        if (buffer.remaining() < Integer.BYTES + length) {
+            bufferPosition += buffer.position();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, bufferPosition, Math.max(CHUNK_SIZE, Integer.BYTES + length));
+        }
+        buffer.putInt(length);
+        buffer.putLong(offsetInNanos);
+        buffer.putShort((short) method.length);
+        buffer.put(method);
+        buffer.put(request);
+    }
+
+    /**
+     * Flush the mapped pages and cut the file after the last record
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        final long size = bufferPosition + buffer.position();
+        buffer.force();
+        channel.truncate(size);
+        file.close();
+    }
+}
@@ -0,0 +1,94 @@
+package com.datastax.killrvideo.it.grpc;
+
+import static java.lang.String.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
+import com.google.protobuf.MessageLite;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.MethodDescriptor;
+
+/**
+ * Installed on every channel of the {@link ChannelRegistry}: when <em>killrvideo.grpc.capture.file</em> is set,
+ * every unary request sent to a KillrVideo service is appended to that {@link TrafficLogWriter traffic log},
+ * to be replayed later by the <em>replay</em> load scenario. Health checks and other non KillrVideo methods are not captured
+ */
+@Component
+public class TrafficRecorder implements ClientInterceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrafficRecorder.class);
+
+    private static final String KILLRVIDEO_PACKAGE = "killrvideo.";
+
+    @Inject
+    private KillrVideoProperties properties;
+
+    private final LongAdder capturedCount = new LongAdder();
+    private volatile TrafficLogWriter writer;
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (properties.grpcCaptureFile.isEmpty()) {
+            return;
+        }
+        final File logFile = new File(properties.grpcCaptureFile).getAbsoluteFile();
+        final File directory = logFile.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalStateException(format("Cannot create the gRPC capture directory %s", directory));
+        }
+        LOGGER.info(format("Capturing gRPC requests to %s", logFile));
+        writer = new TrafficLogWriter(logFile);
+    }
+
+    @Override
+    public <RequestT, ResponseT> ClientCall<RequestT, ResponseT> interceptCall(
+            MethodDescriptor<RequestT, ResponseT> methodDescriptor, CallOptions callOptions, Channel next) {
+        final ClientCall<RequestT, ResponseT> call = next.newCall(methodDescriptor, callOptions);
+        final String fullMethodName = methodDescriptor.getFullMethodName();
+        if (writer == null
+                || methodDescriptor.getType() != MethodDescriptor.MethodType.UNARY
+                || !fullMethodName.startsWith(KILLRVIDEO_PACKAGE)) {
+            return call;
+        }
+        return new ForwardingClientCall.SimpleForwardingClientCall<RequestT, ResponseT>(call) {
+            @Override
+            public void sendMessage(RequestT message) {
+                final TrafficLogWriter currentWriter = writer;
+                if (currentWriter != null && message instanceof MessageLite) {
+                    try {
+                        currentWriter.append(fullMethodName, ((MessageLite) message).toByteArray());
+                        capturedCount.increment();
+                    } catch (IOException e) {
+                        throw new IllegalStateException(format("Cannot capture a call to %s", fullMethodName), e);
+                    }
+                }
+                super.sendMessage(message);
+            }
+        };
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        final TrafficLogWriter currentWriter = writer;
+        if (currentWriter != null) {
+            writer = null;
+            currentWriter.close();
+            LOGGER.info(format("Captured %d gRPC requests to %s", capturedCount.sum(), properties.grpcCaptureFile));
+        }
+    }
+}
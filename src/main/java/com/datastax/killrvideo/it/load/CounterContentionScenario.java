@@ -0,0 +1,214 @@
+package com.datastax.killrvideo.it.load;
+
+import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.RATINGS_SERVICE_NAME;
+import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.STATISTICS_SERVICE_NAME;
+import static com.datastax.killrvideo.it.dao.CassandraDao.RATING_TABLES;
+import static com.datastax.killrvideo.it.dao.CassandraDao.STATISTICS_TABLES;
+import static com.datastax.killrvideo.it.dao.CassandraDao.USER_TABLES;
+import static com.datastax.killrvideo.it.dao.CassandraDao.VIDEO_TABLES;
+import static com.datastax.killrvideo.it.util.TypeConverter.newUuid;
+import static com.datastax.killrvideo.it.util.TypeConverter.uuidToUuid;
+import static java.lang.String.format;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
+import com.datastax.killrvideo.it.dao.CassandraDao;
+import com.datastax.killrvideo.it.grpc.ChannelRegistry;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import killrvideo.ratings.RatingsServiceGrpc;
+import killrvideo.ratings.RatingsServiceGrpc.RatingsServiceBlockingStub;
+import killrvideo.ratings.RatingsServiceGrpc.RatingsServiceFutureStub;
+import killrvideo.ratings.RatingsServiceOuterClass.GetRatingRequest;
+import killrvideo.ratings.RatingsServiceOuterClass.GetRatingResponse;
+import killrvideo.ratings.RatingsServiceOuterClass.RateVideoRequest;
+import killrvideo.statistics.StatisticsServiceGrpc;
+import killrvideo.statistics.StatisticsServiceGrpc.StatisticsServiceBlockingStub;
+import killrvideo.statistics.StatisticsServiceGrpc.StatisticsServiceFutureStub;
+import killrvideo.statistics.StatisticsServiceOuterClass.GetNumberOfPlaysRequest;
+import killrvideo.statistics.StatisticsServiceOuterClass.GetNumberOfPlaysResponse;
+import killrvideo.statistics.StatisticsServiceOuterClass.RecordPlaybackStartedRequest;
+
+/**
+ * Hammers RecordPlaybackStarted and RateVideo on killrvideo.load.counters.hot.videos videos, then compares
+ * GetNumberOfPlays and GetRating with the calls actually sent, to check the <em>video_playback_stats</em>
+ * and <em>video_ratings</em> counters under contention.
+ * <br/>
+ * Counter updates are not idempotent: a failed call may or may not have been applied,
+ * so failed calls widen the accepted range instead of being ignored
+ */
+@Component
+public class CounterContentionScenario implements LoadScenario {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CounterContentionScenario.class);
+
+    @Inject
+    private ChannelRegistry channels;
+
+    @Inject
+    private CassandraDao dao;
+
+    @Inject
+    private KillrVideoProperties properties;
+
+    @Override
+    public String name() {
+        return "counters";
+    }
+
+    @Override
+    public LoadReport run() throws Exception {
+        dao.markDirty(USER_TABLES);
+        dao.markDirty(VIDEO_TABLES);
+        dao.markDirty(RATING_TABLES);
+        dao.markDirty(STATISTICS_TABLES);
+
+        final List<UUID> hotVideos = new LoadDataSeeder(channels, properties.grpcInFlightWindow)
+                .seed(1, properties.loadCountersHotVideos)
+                .getVideoIds();
+        final Map<UUID, ExpectedCounters> expected = new LinkedHashMap<>();
+        for (UUID videoId : hotVideos) {
+            expected.put(videoId, new ExpectedCounters(videoId, numberOfPlays(videoId), getRating(videoId)));
+        }
+
+        final StatisticsServiceFutureStub statisticsStub = StatisticsServiceGrpc.newFutureStub(channels.get(STATISTICS_SERVICE_NAME));
+        final RatingsServiceFutureStub ratingStub = RatingsServiceGrpc.newFutureStub(channels.get(RATINGS_SERVICE_NAME));
+        final Map<String, RpcOperation> operations = new LinkedHashMap<>();
+        operations.put("RecordPlaybackStarted", () -> {
+            final ExpectedCounters counters = expected.get(randomVideo(hotVideos));
+            return track(statisticsStub.recordPlaybackStarted(RecordPlaybackStartedRequest.newBuilder()
+                    .setVideoId(uuidToUuid(counters.videoId))
+                    .build()), counters.plays, counters.uncertainPlays, 1);
+        });
+        operations.put("RateVideo", () -> {
+            final ExpectedCounters counters = expected.get(randomVideo(hotVideos));
+            final int rating = ThreadLocalRandom.current().nextInt(1, 6);
+            return track(ratingStub.rateVideo(RateVideoRequest.newBuilder()
+                    .setVideoId(uuidToUuid(counters.videoId))
+                    .setUserId(newUuid(UUID.randomUUID()))
+                    .setRating(rating)
+                    .build()), counters.ratings, counters.uncertainRatings, rating);
+        });
+
+        final LoadReport report = new LoadDriver(operations, properties.loadConcurrency, properties.loadRequestsPerSecond)
+                .run(name(), properties.loadDurationInSeconds);
+
+        final StringBuilder builder = new StringBuilder();
+        builder.append(format("%n===== Counters after %.1f s =====%n", report.getElapsedInSeconds()));
+        builder.append(format("%-38s %10s %10s %10s %10s %10s %10s %10s %10s  %s%n",
+                "video", "plays", "expected", "uncertain", "ratings", "expected", "uncertain",
+                "total", "expected", "result"));
+        int mismatches = 0;
+        for (ExpectedCounters counters : expected.values()) {
+            final long plays = numberOfPlays(counters.videoId) - counters.initialPlays;
+            final GetRatingResponse rating = getRating(counters.videoId);
+            final long ratings = rating.getRatingsCount() - counters.initialRatings.getRatingsCount();
+            final long ratingTotal = rating.getRatingsTotal() - counters.initialRatings.getRatingsTotal();
+            final boolean correct = counters.accepts(plays, ratings, ratingTotal);
+            if (!correct) {
+                mismatches++;
+            }
+            builder.append(format("%-38s %10d %10d %10d %10d %10d %10d %10d %10d  %s%n",
+                    counters.videoId,
+                    plays, counters.plays.count.sum(), counters.uncertainPlays.count.sum(),
+                    ratings, counters.ratings.count.sum(), counters.uncertainRatings.count.sum(),
+                    ratingTotal, counters.ratings.total.sum(),
+                    correct ? "OK" : "MISMATCH"));
+        }
+        LOGGER.info(builder.toString());
+        if (mismatches > 0) {
+            report.fail(format("%d out of %d hot videos have counters that do not match the calls sent",
+                    mismatches, expected.size()));
+        }
+        return report;
+    }
+
+    private long numberOfPlays(UUID videoId) {
+        final StatisticsServiceBlockingStub stub = StatisticsServiceGrpc.newBlockingStub(channels.get(STATISTICS_SERVICE_NAME));
+        final GetNumberOfPlaysResponse response = stub.getNumberOfPlays(GetNumberOfPlaysRequest.newBuilder()
+                .addVideoIds(uuidToUuid(videoId))
+                .build());
+        return response.getStatsCount() == 0 ? 0 : response.getStats(0).getViews();
+    }
+
+    private GetRatingResponse getRating(UUID videoId) {
+        final RatingsServiceBlockingStub stub = RatingsServiceGrpc.newBlockingStub(channels.get(RATINGS_SERVICE_NAME));
+        return stub.getRating(GetRatingRequest.newBuilder()
+                .setVideoId(uuidToUuid(videoId))
+                .build());
+    }
+
+    private static UUID randomVideo(List<UUID> videos) {
+        return videos.get(ThreadLocalRandom.current().nextInt(videos.size()));
+    }
+
+    /**
+     * Count the call as applied once it succeeds, as uncertain if it fails
+     */
+    private static <T> ListenableFuture<T> track(ListenableFuture<T> call, Tally applied, Tally uncertain, int value) {
+        Futures.addCallback(call, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                applied.add(value);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                uncertain.add(value);
+            }
+        }, MoreExecutors.directExecutor());
+        return call;
+    }
+
+    private static class Tally {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+
+        private void add(int value) {
+            count.increment();
+            total.add(value);
+        }
+    }
+
+    private static class ExpectedCounters {
+
+        private final UUID videoId;
+        private final long initialPlays;
+        private final GetRatingResponse initialRatings;
+        private final Tally plays = new Tally();
+        private final Tally uncertainPlays = new Tally();
+        private final Tally ratings = new Tally();
+        private final Tally uncertainRatings = new Tally();
+
+        private ExpectedCounters(UUID videoId, long initialPlays, GetRatingResponse initialRatings) {
+            this.videoId = videoId;
+            this.initialPlays = initialPlays;
+            this.initialRatings = initialRatings;
+        }
+
+        private boolean accepts(long actualPlays, long actualRatings, long actualRatingTotal) {
+            return within(actualPlays, plays.count.sum(), uncertainPlays.count.sum())
+                    && within(actualRatings, ratings.count.sum(), uncertainRatings.count.sum())
+                    && within(actualRatingTotal, ratings.total.sum(), uncertainRatings.total.sum());
+        }
+
+        private static boolean within(long actual, long applied, long uncertain) {
+            return actual >= applied && actual <= applied + uncertain;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.datastax.killrvideo.it.load;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Process CPU time and heap allocations between {@link #start()} and {@link #stop()}.
+ * Both are process wide: against KillrVideoServer they are the cost of the harness, against the in-process
+ * stand-in they also include the stand-in services, which keeps them an upper bound of the harness cost.
+ * <br/>
+ * Allocations are diffed per thread, threads started during the measure counting from zero.
+ * The allocations of threads that died before {@link #stop()} are missed.
+ * Both measures rely on HotSpot management extensions, they read as -1 on JVMs without them
+ */
+public class HarnessCostMeter {
+
+    private static final java.lang.management.OperatingSystemMXBean OS_BEAN = ManagementFactory.getOperatingSystemMXBean();
+    private static final java.lang.management.ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    private volatile long startCpuNanos;
+    private volatile long stopCpuNanos;
+    private volatile Map<Long, Long> startAllocatedBytes;
+    private volatile long allocatedBytes = -1;
+
+    public void start() {
+        this.startCpuNanos = processCpuNanos();
+        this.startAllocatedBytes = allocatedBytesByThread();
+    }
+
+    public void stop() {
+        this.stopCpuNanos = processCpuNanos();
+        final Map<Long, Long> start = startAllocatedBytes;
+        final Map<Long, Long> stop = allocatedBytesByThread();
+        if (start == null || stop == null) {
+            this.allocatedBytes = -1;
+            return;
+        }
+        long total = 0;
+        for (Map.Entry<Long, Long> thread : stop.entrySet()) {
+            total += thread.getValue() - start.getOrDefault(thread.getKey(), 0L);
+        }
+        this.allocatedBytes = total;
+    }
+
+    public long getCpuNanos() {
+        return startCpuNanos < 0 || stopCpuNanos < 0 ? -1 : stopCpuNanos - startCpuNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public String prettyPrint(long requests) {
+        final long cpuNanos = getCpuNanos();
+        final long allocatedBytes = getAllocatedBytes();
+        if (requests == 0 || cpuNanos < 0 || allocatedBytes < 0) {
+            return String.format("Harness cost per request not available%n");
+        }
+        return String.format("Harness cost per request : %.1f us CPU, %d bytes allocated (process wide, %d requests)%n",
+                cpuNanos / 1000.0 / requests, allocatedBytes / requests, requests);
+    }
+
+    private static long processCpuNanos() {
+        if (OS_BEAN instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) OS_BEAN).getProcessCpuTime();
+        }
+        return -1;
+    }
+
+    /**
+     * Bytes allocated so far by each live thread, keyed by thread id, null when not supported
+     */
+    private static Map<Long, Long> allocatedBytesByThread() {
+        if (!(THREAD_BEAN instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) THREAD_BEAN;
+        if (!threadBean.isThreadAllocatedMemorySupported() || !threadBean.isThreadAllocatedMemoryEnabled()) {
+            return null;
+        }
+        final long[] threadIds = threadBean.getAllThreadIds();
+        final long[] allocatedBytes = threadBean.getThreadAllocatedBytes(threadIds);
+        final Map<Long, Long> bytesByThread = new HashMap<>(threadIds.length * 2);
+        for (int i = 0; i < threadIds.length; i++) {
+            // -1 for a thread that died since getAllThreadIds
+            if (allocatedBytes[i] >= 0) {
+                bytesByThread.put(threadIds[i], allocatedBytes[i]);
+            }
+        }
+        return bytesByThread;
+    }
+}
@@ -0,0 +1,124 @@
+package com.datastax.killrvideo.it.load;
+
+import static com.datastax.killrvideo.it.dao.CassandraDao.USER_TABLES;
+import static com.datastax.killrvideo.it.dao.CassandraDao.VIDEO_TABLES;
+import static java.lang.String.format;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
+import com.datastax.killrvideo.it.dao.CassandraDao;
+import com.datastax.killrvideo.it.dao.PartitionSize;
+import com.datastax.killrvideo.it.grpc.ChannelRegistry;
+
+/**
+ * Submits videos as fast as killrvideo.load.requests.per.second allows while GetLatestVideoPreviews
+ * reads concurrently. Every upload lands in today's <em>latest_videos</em> partition, so the run is split
+ * in killrvideo.load.hot.partition.steps steps, after each of which the partition is measured:
+ * read and write latencies can then be compared with the size of the hot partition
+ */
+@Component
+public class HotPartitionScenario implements LoadScenario {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HotPartitionScenario.class);
+
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String WRITE_RPC = "SubmitYouTubeVideo";
+    private static final String READ_RPC = "GetLatestVideoPreviews";
+
+    @Inject
+    private ChannelRegistry channels;
+
+    @Inject
+    private CassandraDao dao;
+
+    @Inject
+    private KillrVideoProperties properties;
+
+    @Override
+    public String name() {
+        return "hot-partition";
+    }
+
+    @Override
+    public LoadReport run() throws Exception {
+        if (properties.loadTruncateTables) {
+            LOGGER.info(format("Truncating %s and %s before load generation",
+                    String.join(", ", USER_TABLES), String.join(", ", VIDEO_TABLES)));
+            dao.truncate(USER_TABLES);
+            dao.truncate(VIDEO_TABLES);
+        }
+        dao.markDirty(USER_TABLES);
+        dao.markDirty(VIDEO_TABLES);
+
+        final LoadDataSet dataSet = new LoadDataSeeder(channels, properties.grpcInFlightWindow)
+                .seed(properties.loadSeedUsers, 1);
+        final Map<String, RpcOperation> operations = new RpcCatalog(channels, dataSet)
+                .select(Arrays.asList(WRITE_RPC, READ_RPC));
+        final LoadDriver driver = new LoadDriver(operations, properties.loadConcurrency, properties.loadRequestsPerSecond);
+
+        final int steps = Math.max(1, properties.loadHotPartitionSteps);
+        final int stepDurationInSeconds = Math.max(1, properties.loadDurationInSeconds / steps);
+        final List<Step> results = new ArrayList<>(steps);
+        LoadReport report = null;
+        for (int step = 1; step <= steps; step++) {
+            report = driver.run(format("%s-step-%d", name(), step), stepDurationInSeconds);
+            final String today = YYYYMMDD.format(ZonedDateTime.now(ZoneOffset.UTC));
+            final PartitionSize size = dao.measurePartition("latest_videos", "yyyymmdd", today);
+            results.add(new Step(step, today, size, report.forRpc(WRITE_RPC), report.forRpc(READ_RPC)));
+            LOGGER.info(format("Step %d/%d: latest_videos partition %s has %d rows", step, steps, today, size.getRowCount()));
+        }
+
+        LOGGER.info(prettyPrint(results));
+        return report;
+    }
+
+    private static String prettyPrint(List<Step> steps) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(format("%n===== latest_videos hot partition =====%n"));
+        builder.append(format("%5s %9s %10s %10s %10s %10s %10s %10s %8s%n",
+                "step", "day", "rows", "MB", "write p50", "write p99", "read p50", "read p99", "errors"));
+        for (Step step : steps) {
+            builder.append(format("%5d %9s %10d %10.2f %10.2f %10.2f %10.2f %10.2f %8d%n",
+                    step.number,
+                    step.day,
+                    step.size.getRowCount(),
+                    step.size.getValueMegaBytes(),
+                    step.writes.getLatencyInMillis(50),
+                    step.writes.getLatencyInMillis(99),
+                    step.reads.getLatencyInMillis(50),
+                    step.reads.getLatencyInMillis(99),
+                    step.writes.getErrorCount() + step.reads.getErrorCount()));
+        }
+        builder.append(format("Latencies in ms, MB of cell values without storage overhead%n"));
+        return builder.toString();
+    }
+
+    private static class Step {
+
+        private final int number;
+        private final String day;
+        private final PartitionSize size;
+        private final RpcStats writes;
+        private final RpcStats reads;
+
+        private Step(int number, String day, PartitionSize size, RpcStats writes, RpcStats reads) {
+            this.number = number;
+            this.day = day;
+            this.size = size;
+            this.writes = writes;
+            this.reads = reads;
+        }
+    }
+}
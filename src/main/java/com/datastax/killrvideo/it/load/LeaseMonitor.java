@@ -0,0 +1,113 @@
+package com.datastax.killrvideo.it.load;
+
+import static java.lang.String.format;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.Row;
+import com.datastax.killrvideo.it.dao.CassandraDao;
+
+/**
+ * Polls <em>sample_data_leases</em> while sample data is generated. The leases expire after 180 seconds,
+ * so owner changes and the remaining TTL show how the server instances compete for the sample data jobs
+ */
+public class LeaseMonitor implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LeaseMonitor.class);
+
+    public static final String SELECT_LEASES = "SELECT name, owner, TTL(owner) AS ttl FROM killrvideo.sample_data_leases";
+
+    private final CassandraDao dao;
+    private final Map<String, LeaseStats> statsByLease = new ConcurrentSkipListMap<>();
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(task -> {
+        final Thread thread = new Thread(task, "killrvideoit-lease-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long pollCount;
+
+    public LeaseMonitor(CassandraDao dao, long pollIntervalInMillis) {
+        this.dao = dao;
+        poller.scheduleWithFixedDelay(this::poll, 0, pollIntervalInMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void poll() {
+        try {
+            pollCount++;
+            for (Row row : dao.execute(SELECT_LEASES)) {
+                final LeaseStats stats = statsByLease.computeIfAbsent(row.getString("name"), x -> new LeaseStats());
+                stats.observe(row.getString("owner"), row.isNull("ttl") ? -1 : row.getInt("ttl"));
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn(format("Cannot poll the sample data leases : %s", e.getMessage()));
+        }
+    }
+
+    public synchronized long getOwnerChangeCount() {
+        return statsByLease.values().stream().mapToLong(x -> x.ownerChanges).sum();
+    }
+
+    public synchronized String prettyPrint() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(format("%-32s %8s %8s %8s %14s  %s%n", "lease", "seen", "owners", "changes", "min ttl (s)", "last owner"));
+        for (Map.Entry<String, LeaseStats> entry : statsByLease.entrySet()) {
+            final LeaseStats stats = entry.getValue();
+            builder.append(format("%-32s %8s %8d %8d %14d  %s%n",
+                    entry.getKey(),
+                    stats.observations + "/" + pollCount,
+                    stats.owners.size(),
+                    stats.ownerChanges,
+                    stats.minTtlInSeconds == Integer.MAX_VALUE ? -1 : stats.minTtlInSeconds,
+                    stats.lastOwner));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Stop polling and wait for the poll in progress, if any, so that the stats no longer change
+     */
+    public void stop() {
+        poller.shutdown();
+        try {
+            poller.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            poller.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    private static class LeaseStats {
+
+        private final Set<String> owners = new HashSet<>();
+        private long observations;
+        private long ownerChanges;
+        private int minTtlInSeconds = Integer.MAX_VALUE;
+        private String lastOwner;
+
+        private void observe(String owner, int ttlInSeconds) {
+            observations++;
+            if (lastOwner != null && !lastOwner.equals(owner)) {
+                ownerChanges++;
+            }
+            lastOwner = owner;
+            owners.add(owner);
+            if (ttlInSeconds >= 0) {
+                minTtlInSeconds = Math.min(minTtlInSeconds, ttlInSeconds);
+            }
+        }
+    }
+}
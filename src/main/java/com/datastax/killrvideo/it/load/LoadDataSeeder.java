@@ -0,0 +1,117 @@
+package com.datastax.killrvideo.it.load;
+
+import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.USER_SERVICE_NAME;
+import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.VIDEO_CATALOG_SERVICE_NAME;
+import static com.datastax.killrvideo.it.util.TypeConverter.newUuid;
+import static com.datastax.killrvideo.it.util.TypeConverter.uuidToUuid;
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.killrvideo.it.async.InFlightWindow;
+import com.datastax.killrvideo.it.async.PipelineResult;
+import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
+import com.datastax.killrvideo.it.grpc.ChannelRegistry;
+import com.datastax.killrvideo.it.load.LoadDataSet.SeededUser;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import killrvideo.user_management.UserManagementServiceGrpc;
+import killrvideo.user_management.UserManagementServiceGrpc.UserManagementServiceFutureStub;
+import killrvideo.user_management.UserManagementServiceOuterClass.CreateUserRequest;
+import killrvideo.user_management.UserManagementServiceOuterClass.CreateUserResponse;
+import killrvideo.video_catalog.VideoCatalogServiceGrpc;
+import killrvideo.video_catalog.VideoCatalogServiceGrpc.VideoCatalogServiceFutureStub;
+import killrvideo.video_catalog.VideoCatalogServiceOuterClass.SubmitYouTubeVideoRequest;
+import killrvideo.video_catalog.VideoCatalogServiceOuterClass.SubmitYouTubeVideoResponse;
+
+/**
+ * Creates the users and videos a load run reads from, through the regular service RPCs.
+ * Calls are pipelined within the configured in-flight window.
+ */
+public class LoadDataSeeder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadDataSeeder.class);
+
+    private final UserManagementServiceFutureStub userStub;
+    private final VideoCatalogServiceFutureStub videoStub;
+    private final int inFlightWindow;
+
+    public LoadDataSeeder(ChannelRegistry channels, int inFlightWindow) {
+        this.userStub = UserManagementServiceGrpc.newFutureStub(channels.get(USER_SERVICE_NAME));
+        this.videoStub = VideoCatalogServiceGrpc.newFutureStub(channels.get(VIDEO_CATALOG_SERVICE_NAME));
+        this.inFlightWindow = inFlightWindow;
+    }
+
+    public LoadDataSet seed(int userCount, int videoCount) throws InterruptedException {
+        if (userCount <= 0) {
+            throw new IllegalArgumentException(format("Cannot seed %s users, %s should be strictly positive",
+                    userCount, KillrVideoProperties.LOAD_SEED_USERS));
+        }
+        if (videoCount <= 0) {
+            throw new IllegalArgumentException(format("Cannot seed %s videos, %s should be strictly positive",
+                    videoCount, KillrVideoProperties.LOAD_SEED_VIDEOS));
+        }
+        LOGGER.info(format("Seeding %s users and %s videos for load generation", userCount, videoCount));
+        final InFlightWindow window = new InFlightWindow(inFlightWindow);
+
+        final List<SeededUser> users = new ArrayList<>(userCount);
+        final List<ListenableFuture<CreateUserResponse>> userFutures = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            final SeededUser user = new SeededUser(UUID.randomUUID(),
+                    RandomStringUtils.randomAlphabetic(12) + "@load.killrvideo.com",
+                    RandomStringUtils.randomAlphanumeric(10));
+            userFutures.add(window.submit(() -> userStub.createUser(createUserRequest(user))));
+            users.add(user);
+        }
+        ensureNoError("users", PipelineResult.await(userFutures));
+
+        final List<UUID> videoIds = new ArrayList<>(videoCount);
+        final List<ListenableFuture<SubmitYouTubeVideoResponse>> videoFutures = new ArrayList<>(videoCount);
+        for (int i = 0; i < videoCount; i++) {
+            final UUID videoId = UUID.randomUUID();
+            final UUID userId = users.get(i % users.size()).id;
+            videoFutures.add(window.submit(() -> videoStub.submitYouTubeVideo(submitVideoRequest(videoId, userId))));
+            videoIds.add(videoId);
+        }
+        ensureNoError("videos", PipelineResult.await(videoFutures));
+
+        return new LoadDataSet(users, videoIds);
+    }
+
+    private static void ensureNoError(String entities, PipelineResult<?> result) {
+        if (result.hasErrors()) {
+            final Throwable firstError = result.getErrors().get(0);
+            throw new IllegalStateException(format("Cannot seed %s, %s calls out of %s failed. First error : %s",
+                    entities, result.getErrors().size(), result.size(), firstError.getMessage()), firstError);
+        }
+    }
+
+    public static CreateUserRequest createUserRequest(SeededUser user) {
+        return CreateUserRequest.newBuilder()
+                .setUserId(newUuid(user.id))
+                .setEmail(user.email)
+                .setFirstName(RandomStringUtils.randomAlphabetic(5))
+                .setLastName(RandomStringUtils.randomAlphabetic(5))
+                .setPassword(user.password)
+                .build();
+    }
+
+    public static SubmitYouTubeVideoRequest submitVideoRequest(UUID videoId, UUID userId) {
+        return SubmitYouTubeVideoRequest.newBuilder()
+                .setVideoId(newUuid(videoId))
+                .setUserId(uuidToUuid(userId))
+                .setName("load-" + RandomStringUtils.randomAlphabetic(8) + ".mp4")
+                .setDescription("Video generated for load testing")
+                .addAllTags(new LinkedHashSet<>(Arrays.asList(LoadDataSet.randomTag(), LoadDataSet.randomTag())))
+                .setYouTubeVideoId("https://www.youtube.com/watch?v=" + RandomStringUtils.randomAlphanumeric(11))
+                .build();
+    }
+}
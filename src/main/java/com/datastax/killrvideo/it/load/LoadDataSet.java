@@ -0,0 +1,61 @@
+package com.datastax.killrvideo.it.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Users and videos known to exist on the server, used to build realistic requests
+ */
+public class LoadDataSet {
+
+    public static final List<String> TAGS = Collections.unmodifiableList(Arrays.asList(
+            "lego", "star wars", "space", "cassandra", "killrvideo", "grpc", "datastax", "tutorial"));
+
+    private final List<SeededUser> users;
+    private final List<UUID> videoIds;
+
+    public LoadDataSet(List<SeededUser> users, List<UUID> videoIds) {
+        if (users.isEmpty() || videoIds.isEmpty()) {
+            throw new IllegalArgumentException("A load data set needs at least one user and one video");
+        }
+        this.users = new ArrayList<>(users);
+        this.videoIds = new ArrayList<>(videoIds);
+    }
+
+    public List<SeededUser> getUsers() {
+        return Collections.unmodifiableList(users);
+    }
+
+    public List<UUID> getVideoIds() {
+        return Collections.unmodifiableList(videoIds);
+    }
+
+    public SeededUser randomUser() {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    public UUID randomVideoId() {
+        return videoIds.get(ThreadLocalRandom.current().nextInt(videoIds.size()));
+    }
+
+    public static String randomTag() {
+        return TAGS.get(ThreadLocalRandom.current().nextInt(TAGS.size()));
+    }
+
+    public static class SeededUser {
+
+        public final UUID id;
+        public final String email;
+        public final String password;
+
+        public SeededUser(UUID id, String email, String password) {
+            this.id = id;
+            this.email = email;
+            this.password = password;
+        }
+    }
+}
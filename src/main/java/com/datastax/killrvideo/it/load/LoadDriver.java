@@ -0,0 +1,140 @@
+package com.datastax.killrvideo.it.load;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.killrvideo.it.async.InFlightWindow;
+import com.datastax.killrvideo.it.async.KillrVideoThreadFactory;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+/**
+ * Drives a set of RPC operations at a fixed request rate with a bounded number of concurrent requests.
+ * <br/>
+ * Every request gets an intended start time on a global schedule (start + n * 1/rps).
+ * Latency is measured from that intended start time rather than from the actual send time,
+ * so a slow server is not hidden by the client falling behind (coordinated omission).
+ * A requests per second value <= 0 means unthrottled, each client then sends its next
+ * request as soon as the previous one completes.
+ * <br/>
+ * Requests are issued asynchronously and pipelined, a few issuing threads are enough to keep
+ * 'concurrency' requests in flight.
+ */
+public class LoadDriver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadDriver.class);
+
+    private final List<String> rpcNames;
+    private final List<RpcOperation> operations;
+    private final int concurrency;
+    private final int requestsPerSecond;
+
+    public LoadDriver(Map<String, RpcOperation> operations, int concurrency, int requestsPerSecond) {
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("Cannot drive load without any RPC operation");
+        }
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException(format("Concurrency should be strictly positive, found %s", concurrency));
+        }
+        this.rpcNames = new ArrayList<>(operations.keySet());
+        this.operations = new ArrayList<>(operations.values());
+        this.concurrency = concurrency;
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public LoadReport run(String reportName, int durationInSeconds) throws Exception {
+        final LoadReport report = new LoadReport(reportName);
+        rpcNames.forEach(report::forRpc);
+
+        final int issuerCount = Math.min(concurrency, Runtime.getRuntime().availableProcessors());
+        final ExecutorService issuers = Executors.newFixedThreadPool(issuerCount, new KillrVideoThreadFactory());
+        final InFlightWindow window = new InFlightWindow(concurrency);
+        final AtomicLong tickets = new AtomicLong();
+        final boolean throttled = requestsPerSecond > 0;
+        final long intervalNanos = throttled ? TimeUnit.SECONDS.toNanos(1) / requestsPerSecond : 0L;
+
+        LOGGER.info(format("Running '%s' for %s secs with %s concurrent requests at %s",
+                reportName, durationInSeconds, concurrency,
+                throttled ? requestsPerSecond + " requests/s" : "maximum rate"));
+
+        report.start();
+        final long startNanos = System.nanoTime();
+        final long endNanos = startNanos + TimeUnit.SECONDS.toNanos(durationInSeconds);
+
+        final List<Callable<Void>> issuerTasks = new ArrayList<>(issuerCount);
+        for (int i = 0; i < issuerCount; i++) {
+            issuerTasks.add(() -> {
+                while (true) {
+                    final long ticket = tickets.getAndIncrement();
+                    final long intendedStart = throttled ? startNanos + ticket * intervalNanos : System.nanoTime();
+                    if (intendedStart - endNanos >= 0) {
+                        return null;
+                    }
+                    waitUntil(intendedStart);
+                    window.acquire();
+
+                    final int index = (int) (ticket % operations.size());
+                    final RpcStats stats = report.forRpc(rpcNames.get(index));
+                    final long sendTime = throttled ? intendedStart : System.nanoTime();
+                    try {
+                        Futures.addCallback(operations.get(index).call(),
+                                recordingCallback(stats, sendTime, window),
+                                MoreExecutors.directExecutor());
+                    } catch (RuntimeException ex) {
+                        window.release();
+                        stats.recordError(System.nanoTime() - sendTime, ex);
+                    }
+                }
+            });
+        }
+
+        try {
+            for (Future<Void> issuer : issuers.invokeAll(issuerTasks)) {
+                issuer.get();
+            }
+            window.awaitQuiescence();
+        } finally {
+            report.stop();
+            issuers.shutdownNow();
+        }
+        return report;
+    }
+
+    private static FutureCallback<Object> recordingCallback(RpcStats stats, long sendTime, InFlightWindow window) {
+        return new FutureCallback<Object>() {
+            @Override
+            public void onSuccess(Object result) {
+                stats.recordSuccess(System.nanoTime() - sendTime);
+                window.release();
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                stats.recordError(System.nanoTime() - sendTime, error);
+                window.release();
+            }
+        };
+    }
+
+    private static void waitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
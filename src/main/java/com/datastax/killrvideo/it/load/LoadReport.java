@@ -0,0 +1,114 @@
+package com.datastax.killrvideo.it.load;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per RPC statistics collected during one load run, and the correctness checks it failed, if any
+ */
+public class LoadReport {
+
+    private final String name;
+    private final Map<String, RpcStats> stats = new ConcurrentSkipListMap<>();
+    private final HarnessCostMeter costMeter = new HarnessCostMeter();
+    private final List<String> failures = new CopyOnWriteArrayList<>();
+    private volatile long startNanos;
+    private volatile long stopNanos;
+
+    public LoadReport(String name) {
+        this.name = name;
+    }
+
+    public RpcStats forRpc(String rpcName) {
+        return stats.computeIfAbsent(rpcName, RpcStats::new);
+    }
+
+    public Collection<RpcStats> getStats() {
+        return stats.values();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void start() {
+        costMeter.start();
+        this.startNanos = System.nanoTime();
+    }
+
+    public void stop() {
+        this.stopNanos = System.nanoTime();
+        costMeter.stop();
+    }
+
+    /**
+     * Record a failed correctness check, the {@link LoadRunner} then exits with code 1
+     */
+    public void fail(String failure) {
+        failures.add(failure);
+    }
+
+    public List<String> getFailures() {
+        return failures;
+    }
+
+    /**
+     * CPU and allocations of the whole process while the report was running
+     */
+    public HarnessCostMeter getCostMeter() {
+        return costMeter;
+    }
+
+    public double getElapsedInSeconds() {
+        final long end = stopNanos == 0 ? System.nanoTime() : stopNanos;
+        return (end - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * Successful calls per second for the given RPC
+     */
+    public double getThroughput(RpcStats rpcStats) {
+        final double elapsed = getElapsedInSeconds();
+        return elapsed > 0 ? rpcStats.getSuccessCount() / elapsed : 0;
+    }
+
+    public String prettyPrint() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%n===== Load report '%s' (%.1f s) =====%n", name, getElapsedInSeconds()));
+        builder.append(String.format("%-28s %10s %8s %12s %10s %10s %10s %10s%n",
+                "RPC", "count", "errors", "rps", "p50 (ms)", "p99 (ms)", "p999 (ms)", "max (ms)"));
+
+        long totalSuccess = 0;
+        long totalErrors = 0;
+        for (RpcStats rpc : stats.values()) {
+            totalSuccess += rpc.getSuccessCount();
+            totalErrors += rpc.getErrorCount();
+            builder.append(String.format("%-28s %10d %8d %12.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    rpc.getRpcName(),
+                    rpc.getTotalCount(),
+                    rpc.getErrorCount(),
+                    getThroughput(rpc),
+                    rpc.getLatencyInMillis(50),
+                    rpc.getLatencyInMillis(99),
+                    rpc.getLatencyInMillis(99.9),
+                    rpc.getMaxLatencyInMillis()));
+        }
+
+        final double elapsed = getElapsedInSeconds();
+        builder.append(String.format("%-28s %10d %8d %12.1f%n", "TOTAL",
+                totalSuccess + totalErrors, totalErrors, elapsed > 0 ? totalSuccess / elapsed : 0));
+        builder.append(costMeter.prettyPrint(totalSuccess + totalErrors));
+
+        stats.values()
+                .stream()
+                .filter(x -> x.getLastError() != null)
+                .forEach(x -> builder.append(String.format("Last error for %s : %s%n", x.getRpcName(), x.getLastError())));
+        failures.forEach(x -> builder.append(String.format("FAILED : %s%n", x)));
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.datastax.killrvideo.it.load;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
+import com.datastax.killrvideo.it.grpc.ChannelRegistry;
+import com.datastax.killrvideo.it.load.RegressionGate.Comparison;
+
+/**
+ * Runs the configured {@link LoadScenario} once the Spring context is up, stores its results
+ * and, when killrvideo.load.baseline.label is set, compares them with the runs of that build.
+ * A failed correctness check of the scenario, a regression, a missing baseline, or a run with nothing
+ * to compare with the baseline, makes the application exit with code 1.
+ * <br/>
+ * Only active when the application is started with --killrvideo.load.enabled=true
+ */
+@Component
+@ConditionalOnProperty(name = KillrVideoProperties.LOAD_ENABLED, havingValue = "true")
+public class LoadRunner implements CommandLineRunner, ExitCodeGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadRunner.class);
+
+    @Inject
+    private KillrVideoProperties properties;
+
+    @Inject
+    private List<LoadScenario> scenarios;
+
+    @Inject
+    private ChannelRegistry channels;
+
+    private volatile int exitCode;
+
+    @Override
+    public void run(String... args) throws Exception {
+        final LoadScenario scenario = scenarios
+                .stream()
+                .filter(x -> x.name().equals(properties.loadScenario))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(format("Unknown load scenario '%s'. Available scenarios are %s",
+                        properties.loadScenario,
+                        scenarios.stream().map(LoadScenario::name).collect(joining(", ")))));
+
+        final LoadReport report = scenario.run();
+        LOGGER.info(report.prettyPrint());
+        LOGGER.info(channels.prettyPrintInstanceStats());
+
+        final ResultsStore store = new ResultsStore(properties.loadResultsDirectory, properties.applicationName);
+        final RunSummary run = RunSummary.of(properties.loadBuildLabel, report);
+        // Baseline runs are read before saving so that a run never counts in its own baseline
+        final List<RunSummary> baselineRuns = properties.loadBaselineLabel.isEmpty()
+                ? Collections.emptyList()
+                : store.load(properties.loadBaselineLabel, run.getScenario());
+        final File file = store.save(run);
+        LOGGER.info(format("Results of build '%s' stored in %s", run.getBuild(), file.getAbsolutePath()));
+        if (!report.getFailures().isEmpty()) {
+            LOGGER.error(format("Scenario '%s' failed %d correctness checks: %s", scenario.name(),
+                    report.getFailures().size(), String.join("; ", report.getFailures())));
+            exitCode = 1;
+        }
+        if (!properties.loadBaselineLabel.isEmpty()) {
+            checkForRegression(run, baselineRuns);
+        }
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    private void checkForRegression(RunSummary run, List<RunSummary> baselineRuns) {
+        if (baselineRuns.isEmpty()) {
+            LOGGER.error(format("No stored run of scenario '%s' for baseline build '%s' of %s in %s",
+                    run.getScenario(), properties.loadBaselineLabel, properties.applicationName, properties.loadResultsDirectory));
+            exitCode = 1;
+            return;
+        }
+        final RegressionGate gate = new RegressionGate(properties.loadRegressionP99Tolerance,
+                properties.loadRegressionThroughputTolerance,
+                properties.loadRegressionNoiseSigmas,
+                properties.loadRegressionMinCalls);
+        final List<Comparison> comparisons = gate.compare(run, baselineRuns);
+        final String table = RegressionGate.prettyPrint(run.getBuild(), properties.loadBaselineLabel, baselineRuns.size(), comparisons);
+        final long regressions = comparisons.stream().filter(x -> x.regressed).count();
+        if (comparisons.isEmpty()) {
+            LOGGER.error(table);
+            LOGGER.error(format("Nothing compared against baseline '%s', check %s and the RPC names",
+                    properties.loadBaselineLabel, KillrVideoProperties.LOAD_REGRESSION_MIN_CALLS));
+            exitCode = 1;
+        } else if (regressions > 0) {
+            LOGGER.error(table);
+            LOGGER.error(format("%d regressions against baseline '%s'", regressions, properties.loadBaselineLabel));
+            exitCode = 1;
+        } else {
+            LOGGER.info(table);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.datastax.killrvideo.it.load;
+
+/**
+ * A named workload the load runner can execute, selected with
+ * the killrvideo.load.scenario property
+ */
+public interface LoadScenario {
+
+    String name();
+
+    LoadReport run() throws Exception;
+}
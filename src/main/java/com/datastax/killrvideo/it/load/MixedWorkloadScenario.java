@@ -0,0 +1,74 @@
+package com.datastax.killrvideo.it.load;
+
+import static com.datastax.killrvideo.it.dao.CassandraDao.COMMENT_TABLES;
+import static com.datastax.killrvideo.it.dao.CassandraDao.RATING_TABLES;
+import static com.datastax.killrvideo.it.dao.CassandraDao.STATISTICS_TABLES;
+import static com.datastax.killrvideo.it.dao.CassandraDao.USER_TABLES;
+import static com.datastax.killrvideo.it.dao.CassandraDao.VIDEO_TABLES;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
+import com.datastax.killrvideo.it.dao.CassandraDao;
+import com.datastax.killrvideo.it.grpc.ChannelRegistry;
+
+
+/**
+ * Round-robin mix of every RPC of the seven KillrVideo services
+ */
+@Component
+public class MixedWorkloadScenario implements LoadScenario {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MixedWorkloadScenario.class);
+
+    public static final List<String> WRITTEN_TABLES = Stream
+            .of(USER_TABLES, VIDEO_TABLES, COMMENT_TABLES, RATING_TABLES, STATISTICS_TABLES)
+            .flatMap(List::stream)
+            .collect(toList());
+
+    @Inject
+    private ChannelRegistry channels;
+
+    @Inject
+    private CassandraDao dao;
+
+    @Inject
+    private KillrVideoProperties properties;
+
+    @Override
+    public String name() {
+        return "mixed";
+    }
+
+    @Override
+    public LoadReport run() throws Exception {
+        if (properties.loadTruncateTables) {
+            LOGGER.info(format("Truncating %s before load generation", String.join(", ", WRITTEN_TABLES)));
+            dao.truncate(WRITTEN_TABLES);
+        }
+        dao.markDirty(WRITTEN_TABLES);
+
+        final LoadDataSet dataSet = new LoadDataSeeder(channels, properties.grpcInFlightWindow)
+                .seed(properties.loadSeedUsers, properties.loadSeedVideos);
+
+        final Map<String, RpcOperation> operations = new RpcCatalog(channels, dataSet)
+                .select(properties.loadRpcs);
+
+        final LoadDriver driver = new LoadDriver(operations, properties.loadConcurrency, properties.loadRequestsPerSecond);
+
+        if (properties.loadWarmupInSeconds > 0) {
+            driver.run(name() + "-warmup", properties.loadWarmupInSeconds);
+        }
+
+        return driver.run(name(), properties.loadDurationInSeconds);
+    }
+}
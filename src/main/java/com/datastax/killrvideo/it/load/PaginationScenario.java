@@ -0,0 +1,246 @@
+package com.datastax.killrvideo.it.load;
+
+import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.COMMENTS_SERVICE_NAME;
+import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.VIDEO_CATALOG_SERVICE_NAME;
+import static com.datastax.killrvideo.it.dao.CassandraDao.COMMENT_TABLES;
+import static com.datastax.killrvideo.it.dao.CassandraDao.USER_TABLES;
+import static com.datastax.killrvideo.it.dao.CassandraDao.VIDEO_TABLES;
+import static com.datastax.killrvideo.it.util.TypeConverter.newTimeUuid;
+import static com.datastax.killrvideo.it.util.TypeConverter.uuidToUuid;
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.datastax.driver.core.utils.UUIDs;
+import com.datastax.killrvideo.it.async.InFlightWindow;
+import com.datastax.killrvideo.it.async.PipelineResult;
+import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
+import com.datastax.killrvideo.it.dao.CassandraDao;
+import com.datastax.killrvideo.it.grpc.ChannelRegistry;
+import com.datastax.killrvideo.it.load.LoadDataSet.SeededUser;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import killrvideo.comments.CommentsServiceGrpc;
+import killrvideo.comments.CommentsServiceGrpc.CommentsServiceBlockingStub;
+import killrvideo.comments.CommentsServiceGrpc.CommentsServiceFutureStub;
+import killrvideo.comments.CommentsServiceOuterClass.CommentOnVideoRequest;
+import killrvideo.comments.CommentsServiceOuterClass.CommentOnVideoResponse;
+import killrvideo.comments.CommentsServiceOuterClass.GetUserCommentsRequest;
+import killrvideo.comments.CommentsServiceOuterClass.GetUserCommentsResponse;
+import killrvideo.comments.CommentsServiceOuterClass.GetVideoCommentsRequest;
+import killrvideo.comments.CommentsServiceOuterClass.GetVideoCommentsResponse;
+import killrvideo.video_catalog.VideoCatalogServiceGrpc;
+import killrvideo.video_catalog.VideoCatalogServiceGrpc.VideoCatalogServiceBlockingStub;
+import killrvideo.video_catalog.VideoCatalogServiceOuterClass.GetLatestVideoPreviewsRequest;
+import killrvideo.video_catalog.VideoCatalogServiceOuterClass.GetLatestVideoPreviewsResponse;
+import killrvideo.video_catalog.VideoCatalogServiceOuterClass.GetUserVideoPreviewsRequest;
+import killrvideo.video_catalog.VideoCatalogServiceOuterClass.GetUserVideoPreviewsResponse;
+
+/**
+ * Scans GetLatestVideoPreviews, GetUserVideoPreviews, GetVideoComments and GetUserComments to exhaustion,
+ * following the paging state, once per page size of killrvideo.load.pagination.page.sizes.
+ * <br/>
+ * One user with killrvideo.load.pagination.items videos, and as many comments on one of them, is created first
+ * so that every scan goes deep. Page latencies are grouped by page depth (1, 2, 3-4, 5-8...): a latency growing
+ * with the depth points to a paging state that re-reads the skipped rows
+ */
+@Component
+public class PaginationScenario implements LoadScenario {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PaginationScenario.class);
+
+    @Inject
+    private ChannelRegistry channels;
+
+    @Inject
+    private CassandraDao dao;
+
+    @Inject
+    private KillrVideoProperties properties;
+
+    @Override
+    public String name() {
+        return "pagination";
+    }
+
+    @Override
+    public LoadReport run() throws Exception {
+        dao.markDirty(USER_TABLES);
+        dao.markDirty(VIDEO_TABLES);
+        dao.markDirty(COMMENT_TABLES);
+
+        final int itemCount = properties.loadPaginationItems;
+        final LoadDataSet dataSet = new LoadDataSeeder(channels, properties.grpcInFlightWindow).seed(1, itemCount);
+        final SeededUser user = dataSet.getUsers().get(0);
+        final UUID videoId = dataSet.getVideoIds().get(0);
+        seedComments(user.id, videoId, itemCount);
+
+        final Map<String, PageFetcher> endpoints = endpoints(user.id, videoId);
+        final LoadReport report = new LoadReport(name());
+        final Map<String, Map<Integer, RpcStats>> statsByDepth = new LinkedHashMap<>();
+
+        report.start();
+        for (Map.Entry<String, PageFetcher> endpoint : endpoints.entrySet()) {
+            for (int pageSize : properties.loadPaginationPageSizes) {
+                final String scanName = endpoint.getKey() + "/" + pageSize;
+                final Map<Integer, RpcStats> depths = statsByDepth.computeIfAbsent(scanName, x -> new TreeMap<>());
+                for (int scan = 0; scan < properties.loadPaginationScans; scan++) {
+                    scanToExhaustion(scanName, endpoint.getValue(), pageSize, report.forRpc(scanName), depths);
+                }
+            }
+        }
+        report.stop();
+
+        LOGGER.info(prettyPrint(statsByDepth));
+        return report;
+    }
+
+    private void scanToExhaustion(String scanName, PageFetcher fetcher, int pageSize,
+                                  RpcStats pageStats, Map<Integer, RpcStats> statsByDepth) {
+        String pagingState = "";
+        int depth = 0;
+        int items = 0;
+        do {
+            depth++;
+            final RpcStats depthStats = statsByDepth.computeIfAbsent(depthBucket(depth),
+                    x -> new RpcStats(depthLabel(x)));
+            final long start = System.nanoTime();
+            final Page page;
+            try {
+                page = fetcher.apply(pageSize, pagingState);
+            } catch (RuntimeException e) {
+                pageStats.recordError(System.nanoTime() - start, e);
+                depthStats.recordError(System.nanoTime() - start, e);
+                LOGGER.warn(format("Scan of %s stopped at page %d : %s", scanName, depth, e.getMessage()));
+                return;
+            }
+            final long latency = System.nanoTime() - start;
+            pageStats.recordSuccess(latency);
+            depthStats.recordSuccess(latency);
+            items += page.itemCount;
+            pagingState = page.pagingState;
+        } while (!pagingState.isEmpty() && depth < properties.loadPaginationMaxPages);
+
+        LOGGER.debug(format("Scanned %s: %d items in %d pages", scanName, items, depth));
+    }
+
+    private Map<String, PageFetcher> endpoints(UUID userId, UUID videoId) {
+        final VideoCatalogServiceBlockingStub videoStub = VideoCatalogServiceGrpc.newBlockingStub(channels.get(VIDEO_CATALOG_SERVICE_NAME));
+        final CommentsServiceBlockingStub commentStub = CommentsServiceGrpc.newBlockingStub(channels.get(COMMENTS_SERVICE_NAME));
+
+        final Map<String, PageFetcher> endpoints = new LinkedHashMap<>();
+        endpoints.put("GetLatestVideoPreviews", (pageSize, pagingState) -> {
+            final GetLatestVideoPreviewsResponse response = videoStub.getLatestVideoPreviews(GetLatestVideoPreviewsRequest.newBuilder()
+                    .setPageSize(pageSize)
+                    .setPagingState(pagingState)
+                    .build());
+            return new Page(response.getVideoPreviewsCount(), response.getPagingState());
+        });
+        endpoints.put("GetUserVideoPreviews", (pageSize, pagingState) -> {
+            final GetUserVideoPreviewsResponse response = videoStub.getUserVideoPreviews(GetUserVideoPreviewsRequest.newBuilder()
+                    .setUserId(uuidToUuid(userId))
+                    .setPageSize(pageSize)
+                    .setPagingState(pagingState)
+                    .build());
+            return new Page(response.getVideoPreviewsCount(), response.getPagingState());
+        });
+        endpoints.put("GetVideoComments", (pageSize, pagingState) -> {
+            final GetVideoCommentsResponse response = commentStub.getVideoComments(GetVideoCommentsRequest.newBuilder()
+                    .setVideoId(uuidToUuid(videoId))
+                    .setPageSize(pageSize)
+                    .setPagingState(pagingState)
+                    .build());
+            return new Page(response.getCommentsCount(), response.getPagingState());
+        });
+        endpoints.put("GetUserComments", (pageSize, pagingState) -> {
+            final GetUserCommentsResponse response = commentStub.getUserComments(GetUserCommentsRequest.newBuilder()
+                    .setUserId(uuidToUuid(userId))
+                    .setPageSize(pageSize)
+                    .setPagingState(pagingState)
+                    .build());
+            return new Page(response.getCommentsCount(), response.getPagingState());
+        });
+        return endpoints;
+    }
+
+    private void seedComments(UUID userId, UUID videoId, int commentCount) throws InterruptedException {
+        final CommentsServiceFutureStub commentStub = CommentsServiceGrpc.newFutureStub(channels.get(COMMENTS_SERVICE_NAME));
+        final InFlightWindow window = new InFlightWindow(properties.grpcInFlightWindow);
+        final List<ListenableFuture<CommentOnVideoResponse>> futures = new ArrayList<>(commentCount);
+        for (int i = 0; i < commentCount; i++) {
+            final CommentOnVideoRequest request = CommentOnVideoRequest.newBuilder()
+                    .setCommentId(newTimeUuid(UUIDs.timeBased()))
+                    .setComment("Pagination comment " + i)
+                    .setUserId(uuidToUuid(userId))
+                    .setVideoId(uuidToUuid(videoId))
+                    .build();
+            futures.add(window.submit(() -> commentStub.commentOnVideo(request)));
+        }
+        final PipelineResult<CommentOnVideoResponse> result = PipelineResult.await(futures);
+        if (result.hasErrors()) {
+            throw new IllegalStateException(format("Cannot seed comments, %s calls out of %s failed. First error : %s",
+                    result.getErrors().size(), result.size(), result.getErrors().get(0).getMessage()),
+                    result.getErrors().get(0));
+        }
+    }
+
+    /**
+     * Upper bound of the power of two bucket holding the depth: 1, 2, 4, 8...
+     */
+    private static int depthBucket(int depth) {
+        return depth == 1 ? 1 : Integer.highestOneBit(depth - 1) << 1;
+    }
+
+    private static String depthLabel(int bucket) {
+        return bucket <= 2 ? String.valueOf(bucket) : (bucket / 2 + 1) + "-" + bucket;
+    }
+
+    private static String prettyPrint(Map<String, Map<Integer, RpcStats>> statsByDepth) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(format("%n===== Page latency by depth =====%n"));
+        builder.append(format("%-28s %10s %10s %8s %10s %10s %10s%n",
+                "scan", "depth", "pages", "errors", "p50 (ms)", "p99 (ms)", "max (ms)"));
+        for (Map.Entry<String, Map<Integer, RpcStats>> scan : statsByDepth.entrySet()) {
+            for (RpcStats stats : scan.getValue().values()) {
+                builder.append(format("%-28s %10s %10d %8d %10.2f %10.2f %10.2f%n",
+                        scan.getKey(),
+                        stats.getRpcName(),
+                        stats.getTotalCount(),
+                        stats.getErrorCount(),
+                        stats.getLatencyInMillis(50),
+                        stats.getLatencyInMillis(99),
+                        stats.getMaxLatencyInMillis()));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Fetches one page given the page size and the paging state of the previous page, empty for the first one
+     */
+    @FunctionalInterface
+    private interface PageFetcher extends BiFunction<Integer, String, Page> {
+    }
+
+    private static class Page {
+
+        private final int itemCount;
+        private final String pagingState;
+
+        private Page(int itemCount, String pagingState) {
+            this.itemCount = itemCount;
+            this.pagingState = pagingState;
+        }
+    }
+}
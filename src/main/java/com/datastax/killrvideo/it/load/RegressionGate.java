@@ -0,0 +1,153 @@
+package com.datastax.killrvideo.it.load;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.ToDoubleFunction;
+
+import com.datastax.killrvideo.it.load.RunSummary.RpcSummary;
+
+/**
+ * Compares the p99 latency and the throughput of each RPC of a run with the runs of a baseline build.
+ * <br/>
+ * The baseline of a metric is the median of the baseline runs and its noise the median absolute deviation
+ * (scaled to a standard deviation). A run regresses when it is worse than the baseline by more than the relative
+ * tolerance <em>plus</em> noiseSigmas times the noise, so a single noisy baseline run does not make the gate flaky,
+ * and repeated baseline runs make it tighter. RPCs with less than minCalls calls on either side are skipped,
+ * their p99 is not meaningful. An RPC of the baseline runs missing from the run is a regression
+ */
+public class RegressionGate {
+
+    /**
+     * Turns a median absolute deviation into a standard deviation estimate for normally distributed values
+     */
+    private static final double MAD_TO_SIGMA = 1.4826;
+
+    private final double p99Tolerance;
+    private final double throughputTolerance;
+    private final double noiseSigmas;
+    private final long minCalls;
+
+    public RegressionGate(double p99Tolerance, double throughputTolerance, double noiseSigmas, long minCalls) {
+        this.p99Tolerance = p99Tolerance;
+        this.throughputTolerance = throughputTolerance;
+        this.noiseSigmas = noiseSigmas;
+        this.minCalls = minCalls;
+    }
+
+    public List<Comparison> compare(RunSummary run, List<RunSummary> baselineRuns) {
+        final List<Comparison> comparisons = new ArrayList<>();
+        for (Map.Entry<String, RpcSummary> entry : run.getRpcs().entrySet()) {
+            final String rpcName = entry.getKey();
+            final RpcSummary candidate = entry.getValue();
+            final List<RpcSummary> baselines = new ArrayList<>();
+            for (RunSummary baselineRun : baselineRuns) {
+                final RpcSummary baseline = baselineRun.getRpcs().get(rpcName);
+                if (baseline != null && baseline.count >= minCalls) {
+                    baselines.add(baseline);
+                }
+            }
+            if (candidate.count < minCalls || baselines.isEmpty()) {
+                continue;
+            }
+
+            final Estimate p99 = Estimate.of(baselines, x -> x.p99InMillis);
+            final double p99Limit = p99.median * (1 + p99Tolerance) + noiseSigmas * p99.sigma;
+            comparisons.add(new Comparison(rpcName, "p99 (ms)", candidate.p99InMillis, p99, p99Limit,
+                    candidate.p99InMillis > p99Limit));
+
+            final Estimate throughput = Estimate.of(baselines, x -> x.throughput);
+            final double throughputLimit = throughput.median * (1 - throughputTolerance) - noiseSigmas * throughput.sigma;
+            comparisons.add(new Comparison(rpcName, "rps", candidate.throughput, throughput, throughputLimit,
+                    candidate.throughput < throughputLimit));
+        }
+
+        final Set<String> missingRpcs = new TreeSet<>();
+        baselineRuns.forEach(x -> missingRpcs.addAll(x.getRpcs().keySet()));
+        missingRpcs.removeAll(run.getRpcs().keySet());
+        for (String rpcName : missingRpcs) {
+            final List<RpcSummary> baselines = new ArrayList<>();
+            for (RunSummary baselineRun : baselineRuns) {
+                final RpcSummary baseline = baselineRun.getRpcs().get(rpcName);
+                if (baseline != null) {
+                    baselines.add(baseline);
+                }
+            }
+            comparisons.add(new Comparison(rpcName, "calls", 0, Estimate.of(baselines, x -> x.count), 0, true));
+        }
+        return comparisons;
+    }
+
+    public static String prettyPrint(String build, String baselineBuild, int baselineRunCount, List<Comparison> comparisons) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(format("%n===== Build '%s' against baseline '%s' (%d runs) =====%n", build, baselineBuild, baselineRunCount));
+        builder.append(format("%-28s %-9s %12s %12s %12s %12s  %s%n",
+                "RPC", "metric", "run", "baseline", "noise", "limit", "result"));
+        for (Comparison comparison : comparisons) {
+            builder.append(format("%-28s %-9s %12.2f %12.2f %12.2f %12.2f  %s%n",
+                    comparison.rpcName,
+                    comparison.metric,
+                    comparison.value,
+                    comparison.baseline.median,
+                    comparison.baseline.sigma,
+                    comparison.limit,
+                    comparison.regressed ? "REGRESSION" : "OK"));
+        }
+        if (comparisons.isEmpty()) {
+            builder.append(format("No RPC with enough calls in both the run and the baseline, nothing compared%n"));
+        }
+        return builder.toString();
+    }
+
+    public static class Comparison {
+
+        public final String rpcName;
+        public final String metric;
+        public final double value;
+        public final Estimate baseline;
+        public final double limit;
+        public final boolean regressed;
+
+        private Comparison(String rpcName, String metric, double value, Estimate baseline, double limit, boolean regressed) {
+            this.rpcName = rpcName;
+            this.metric = metric;
+            this.value = value;
+            this.baseline = baseline;
+            this.limit = limit;
+            this.regressed = regressed;
+        }
+    }
+
+    /**
+     * Median and robust standard deviation of a metric over the baseline runs
+     */
+    public static class Estimate {
+
+        public final double median;
+        public final double sigma;
+
+        private Estimate(double median, double sigma) {
+            this.median = median;
+            this.sigma = sigma;
+        }
+
+        private static Estimate of(List<RpcSummary> baselines, ToDoubleFunction<RpcSummary> metric) {
+            final double[] values = baselines.stream().mapToDouble(metric).toArray();
+            final double median = median(values);
+            final double[] deviations = Arrays.stream(values).map(x -> Math.abs(x - median)).toArray();
+            return new Estimate(median, MAD_TO_SIGMA * median(deviations));
+        }
+
+        private static double median(double[] values) {
+            final double[] sorted = values.clone();
+            Arrays.sort(sorted);
+            final int middle = sorted.length / 2;
+            return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.datastax.killrvideo.it.load;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import com.datastax.killrvideo.it.load.RunSummary.RpcSummary;
+
+/**
+ * Keeps the {@link RunSummary} of each load run as a properties file
+ * <em>&lt;directory&gt;/&lt;applicationName&gt;/&lt;build&gt;/&lt;scenario&gt;-&lt;yyyyMMdd-HHmmss&gt;.properties</em>,
+ * so that several runs of a same build can be used as a baseline
+ */
+public class ResultsStore {
+
+    private static final String SCENARIO = "scenario";
+    private static final String BUILD = "build";
+    private static final String TIMESTAMP = "timestamp";
+    private static final String RPC_PREFIX = "rpc.";
+    private static final String COUNT = ".count";
+    private static final String ERRORS = ".errors";
+    private static final String THROUGHPUT = ".throughput";
+    private static final String P50 = ".p50.millis";
+    private static final String P99 = ".p99.millis";
+    private static final String P999 = ".p999.millis";
+
+    private final File applicationDirectory;
+
+    public ResultsStore(String directory, String applicationName) {
+        this.applicationDirectory = new File(directory, pathSafe(applicationName));
+    }
+
+    public File save(RunSummary run) throws IOException {
+        final File buildDirectory = new File(applicationDirectory, pathSafe(run.getBuild()));
+        if (!buildDirectory.isDirectory() && !buildDirectory.mkdirs()) {
+            throw new IllegalStateException(format("Cannot create the load results directory %s", buildDirectory.getAbsolutePath()));
+        }
+        final Properties properties = new Properties();
+        properties.setProperty(SCENARIO, run.getScenario());
+        properties.setProperty(BUILD, run.getBuild());
+        properties.setProperty(TIMESTAMP, String.valueOf(run.getTimestamp()));
+        for (Map.Entry<String, RpcSummary> entry : run.getRpcs().entrySet()) {
+            final String prefix = RPC_PREFIX + entry.getKey();
+            final RpcSummary rpc = entry.getValue();
+            properties.setProperty(prefix + COUNT, String.valueOf(rpc.count));
+            properties.setProperty(prefix + ERRORS, String.valueOf(rpc.errors));
+            properties.setProperty(prefix + THROUGHPUT, String.valueOf(rpc.throughput));
+            properties.setProperty(prefix + P50, String.valueOf(rpc.p50InMillis));
+            properties.setProperty(prefix + P99, String.valueOf(rpc.p99InMillis));
+            properties.setProperty(prefix + P999, String.valueOf(rpc.p999InMillis));
+        }
+
+        final File file = new File(buildDirectory, format("%s-%s.properties", pathSafe(run.getScenario()),
+                new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date(run.getTimestamp()))));
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), UTF_8)) {
+            properties.store(writer, format("Load run '%s' of build '%s'", run.getScenario(), run.getBuild()));
+        }
+        return file;
+    }
+
+    /**
+     * All the stored runs of the scenario for the given build, oldest first
+     */
+    public List<RunSummary> load(String build, String scenario) throws IOException {
+        final File[] files = new File(applicationDirectory, pathSafe(build))
+                .listFiles((dir, name) -> name.startsWith(pathSafe(scenario) + "-") && name.endsWith(".properties"));
+        final List<RunSummary> runs = new ArrayList<>();
+        if (files == null) {
+            return runs;
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            final RunSummary run = read(file);
+            if (run.getScenario().equals(scenario)) {
+                runs.add(run);
+            }
+        }
+        return runs;
+    }
+
+    private static RunSummary read(File file) throws IOException {
+        final Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file.toPath(), UTF_8)) {
+            properties.load(reader);
+        }
+        final Map<String, RpcSummary> rpcs = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(RPC_PREFIX) && key.endsWith(COUNT)) {
+                final String rpcName = key.substring(RPC_PREFIX.length(), key.length() - COUNT.length());
+                final String prefix = RPC_PREFIX + rpcName;
+                rpcs.put(rpcName, new RpcSummary(
+                        Long.parseLong(properties.getProperty(prefix + COUNT)),
+                        Long.parseLong(properties.getProperty(prefix + ERRORS, "0")),
+                        Double.parseDouble(properties.getProperty(prefix + THROUGHPUT, "0")),
+                        Double.parseDouble(properties.getProperty(prefix + P50, "0")),
+                        Double.parseDouble(properties.getProperty(prefix + P99, "0")),
+                        Double.parseDouble(properties.getProperty(prefix + P999, "0"))));
+            }
+        }
+        return new RunSummary(properties.getProperty(SCENARIO), properties.getProperty(BUILD),
+                Long.parseLong(properties.getProperty(TIMESTAMP, "0")), rpcs);
+    }
+
+    private static String pathSafe(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
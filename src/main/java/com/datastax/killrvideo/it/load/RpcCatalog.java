@@ -0,0 +1,207 @@
+package com.datastax.killrvideo.it.load;
+
+import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.COMMENTS_SERVICE_NAME;
+import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.RATINGS_SERVICE_NAME;
+import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.SEARCH_SERVICE_NAME;
+import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.STATISTICS_SERVICE_NAME;
+import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.SUGGESTED_VIDEOS_SERVICE_NAME;
+import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.USER_SERVICE_NAME;
+import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.VIDEO_CATALOG_SERVICE_NAME;
+import static com.datastax.killrvideo.it.util.TypeConverter.newTimeUuid;
+import static com.datastax.killrvideo.it.util.TypeConverter.uuidToUuid;
+import static java.lang.String.format;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.lang3.RandomStringUtils;
+
+import com.datastax.driver.core.utils.UUIDs;
+import com.datastax.killrvideo.it.grpc.ChannelRegistry;
+import com.datastax.killrvideo.it.load.LoadDataSet.SeededUser;
+
+import killrvideo.comments.CommentsServiceGrpc;
+import killrvideo.comments.CommentsServiceGrpc.CommentsServiceFutureStub;
+import killrvideo.comments.CommentsServiceOuterClass.CommentOnVideoRequest;
+import killrvideo.comments.CommentsServiceOuterClass.GetUserCommentsRequest;
+import killrvideo.comments.CommentsServiceOuterClass.GetVideoCommentsRequest;
+import killrvideo.ratings.RatingsServiceGrpc;
+import killrvideo.ratings.RatingsServiceGrpc.RatingsServiceFutureStub;
+import killrvideo.ratings.RatingsServiceOuterClass.GetRatingRequest;
+import killrvideo.ratings.RatingsServiceOuterClass.GetUserRatingRequest;
+import killrvideo.ratings.RatingsServiceOuterClass.RateVideoRequest;
+import killrvideo.search.SearchServiceGrpc;
+import killrvideo.search.SearchServiceGrpc.SearchServiceFutureStub;
+import killrvideo.search.SearchServiceOuterClass.GetQuerySuggestionsRequest;
+import killrvideo.search.SearchServiceOuterClass.SearchVideosRequest;
+import killrvideo.statistics.StatisticsServiceGrpc;
+import killrvideo.statistics.StatisticsServiceGrpc.StatisticsServiceFutureStub;
+import killrvideo.statistics.StatisticsServiceOuterClass.GetNumberOfPlaysRequest;
+import killrvideo.statistics.StatisticsServiceOuterClass.RecordPlaybackStartedRequest;
+import killrvideo.suggested_videos.SuggestedVideoServiceGrpc;
+import killrvideo.suggested_videos.SuggestedVideoServiceGrpc.SuggestedVideoServiceFutureStub;
+import killrvideo.suggested_videos.SuggestedVideosService.GetRelatedVideosRequest;
+import killrvideo.suggested_videos.SuggestedVideosService.GetSuggestedForUserRequest;
+import killrvideo.user_management.UserManagementServiceGrpc;
+import killrvideo.user_management.UserManagementServiceGrpc.UserManagementServiceFutureStub;
+import killrvideo.user_management.UserManagementServiceOuterClass.GetUserProfileRequest;
+import killrvideo.user_management.UserManagementServiceOuterClass.VerifyCredentialsRequest;
+import killrvideo.video_catalog.VideoCatalogServiceGrpc;
+import killrvideo.video_catalog.VideoCatalogServiceGrpc.VideoCatalogServiceFutureStub;
+import killrvideo.video_catalog.VideoCatalogServiceOuterClass.GetLatestVideoPreviewsRequest;
+import killrvideo.video_catalog.VideoCatalogServiceOuterClass.GetUserVideoPreviewsRequest;
+import killrvideo.video_catalog.VideoCatalogServiceOuterClass.GetVideoPreviewsRequest;
+import killrvideo.video_catalog.VideoCatalogServiceOuterClass.GetVideoRequest;
+
+/**
+ * Every RPC of the seven KillrVideo services, keyed by its protobuf method name
+ * (e.g. "GetVideo"), with requests built from a {@link LoadDataSet}.
+ * Calls go through the future stubs so the load driver can pipeline them.
+ */
+public class RpcCatalog {
+
+    private static final int PAGE_SIZE = 10;
+
+    private final Map<String, RpcOperation> operations = new LinkedHashMap<>();
+
+    public RpcCatalog(ChannelRegistry channels, LoadDataSet dataSet) {
+        final UserManagementServiceFutureStub userStub = UserManagementServiceGrpc.newFutureStub(channels.get(USER_SERVICE_NAME));
+        final VideoCatalogServiceFutureStub videoStub = VideoCatalogServiceGrpc.newFutureStub(channels.get(VIDEO_CATALOG_SERVICE_NAME));
+        final CommentsServiceFutureStub commentStub = CommentsServiceGrpc.newFutureStub(channels.get(COMMENTS_SERVICE_NAME));
+        final RatingsServiceFutureStub ratingStub = RatingsServiceGrpc.newFutureStub(channels.get(RATINGS_SERVICE_NAME));
+        final StatisticsServiceFutureStub statisticsStub = StatisticsServiceGrpc.newFutureStub(channels.get(STATISTICS_SERVICE_NAME));
+        final SearchServiceFutureStub searchStub = SearchServiceGrpc.newFutureStub(channels.get(SEARCH_SERVICE_NAME));
+        final SuggestedVideoServiceFutureStub suggestedStub = SuggestedVideoServiceGrpc.newFutureStub(channels.get(SUGGESTED_VIDEOS_SERVICE_NAME));
+
+        // UserManagementService
+        operations.put("CreateUser", () -> userStub.createUser(LoadDataSeeder.createUserRequest(
+                new SeededUser(UUID.randomUUID(),
+                        RandomStringUtils.randomAlphabetic(12) + "@load.killrvideo.com",
+                        RandomStringUtils.randomAlphanumeric(10)))));
+
+        operations.put("VerifyCredentials", () -> {
+            final SeededUser user = dataSet.randomUser();
+            return userStub.verifyCredentials(VerifyCredentialsRequest.newBuilder()
+                    .setEmail(user.email)
+                    .setPassword(user.password)
+                    .build());
+        });
+
+        operations.put("GetUserProfile", () -> userStub.getUserProfile(GetUserProfileRequest.newBuilder()
+                .addUserIds(uuidToUuid(dataSet.randomUser().id))
+                .build()));
+
+        // VideoCatalogService
+        operations.put("SubmitYouTubeVideo", () -> videoStub.submitYouTubeVideo(
+                LoadDataSeeder.submitVideoRequest(UUID.randomUUID(), dataSet.randomUser().id)));
+
+        operations.put("GetVideo", () -> videoStub.getVideo(GetVideoRequest.newBuilder()
+                .setVideoId(uuidToUuid(dataSet.randomVideoId()))
+                .build()));
+
+        operations.put("GetVideoPreviews", () -> videoStub.getVideoPreviews(GetVideoPreviewsRequest.newBuilder()
+                .addVideoIds(uuidToUuid(dataSet.randomVideoId()))
+                .addVideoIds(uuidToUuid(dataSet.randomVideoId()))
+                .addVideoIds(uuidToUuid(dataSet.randomVideoId()))
+                .build()));
+
+        operations.put("GetLatestVideoPreviews", () -> videoStub.getLatestVideoPreviews(GetLatestVideoPreviewsRequest.newBuilder()
+                .setPageSize(PAGE_SIZE)
+                .build()));
+
+        operations.put("GetUserVideoPreviews", () -> videoStub.getUserVideoPreviews(GetUserVideoPreviewsRequest.newBuilder()
+                .setUserId(uuidToUuid(dataSet.randomUser().id))
+                .setPageSize(PAGE_SIZE)
+                .build()));
+
+        // CommentsService
+        operations.put("CommentOnVideo", () -> commentStub.commentOnVideo(CommentOnVideoRequest.newBuilder()
+                .setCommentId(newTimeUuid(UUIDs.timeBased()))
+                .setComment(RandomStringUtils.randomAlphabetic(30))
+                .setUserId(uuidToUuid(dataSet.randomUser().id))
+                .setVideoId(uuidToUuid(dataSet.randomVideoId()))
+                .build()));
+
+        operations.put("GetVideoComments", () -> commentStub.getVideoComments(GetVideoCommentsRequest.newBuilder()
+                .setVideoId(uuidToUuid(dataSet.randomVideoId()))
+                .setPageSize(PAGE_SIZE)
+                .build()));
+
+        operations.put("GetUserComments", () -> commentStub.getUserComments(GetUserCommentsRequest.newBuilder()
+                .setUserId(uuidToUuid(dataSet.randomUser().id))
+                .setPageSize(PAGE_SIZE)
+                .build()));
+
+        // RatingsService
+        operations.put("RateVideo", () -> ratingStub.rateVideo(RateVideoRequest.newBuilder()
+                .setRating(ThreadLocalRandom.current().nextInt(1, 6))
+                .setUserId(uuidToUuid(dataSet.randomUser().id))
+                .setVideoId(uuidToUuid(dataSet.randomVideoId()))
+                .build()));
+
+        operations.put("GetRating", () -> ratingStub.getRating(GetRatingRequest.newBuilder()
+                .setVideoId(uuidToUuid(dataSet.randomVideoId()))
+                .build()));
+
+        operations.put("GetUserRating", () -> ratingStub.getUserRating(GetUserRatingRequest.newBuilder()
+                .setUserId(uuidToUuid(dataSet.randomUser().id))
+                .setVideoId(uuidToUuid(dataSet.randomVideoId()))
+                .build()));
+
+        // StatisticsService
+        operations.put("RecordPlaybackStarted", () -> statisticsStub.recordPlaybackStarted(RecordPlaybackStartedRequest.newBuilder()
+                .setVideoId(uuidToUuid(dataSet.randomVideoId()))
+                .build()));
+
+        operations.put("GetNumberOfPlays", () -> statisticsStub.getNumberOfPlays(GetNumberOfPlaysRequest.newBuilder()
+                .addVideoIds(uuidToUuid(dataSet.randomVideoId()))
+                .addVideoIds(uuidToUuid(dataSet.randomVideoId()))
+                .build()));
+
+        // SearchService
+        operations.put("SearchVideos", () -> searchStub.searchVideos(SearchVideosRequest.newBuilder()
+                .setQuery(LoadDataSet.randomTag())
+                .setPageSize(PAGE_SIZE)
+                .build()));
+
+        operations.put("GetQuerySuggestions", () -> searchStub.getQuerySuggestions(GetQuerySuggestionsRequest.newBuilder()
+                .setQuery(LoadDataSet.randomTag().substring(0, 2))
+                .setPageSize(PAGE_SIZE)
+                .build()));
+
+        // SuggestedVideoService
+        operations.put("GetRelatedVideos", () -> suggestedStub.getRelatedVideos(GetRelatedVideosRequest.newBuilder()
+                .setVideoId(uuidToUuid(dataSet.randomVideoId()))
+                .setPageSize(PAGE_SIZE)
+                .build()));
+
+        operations.put("GetSuggestedForUser", () -> suggestedStub.getSuggestedForUser(GetSuggestedForUserRequest.newBuilder()
+                .setUserId(uuidToUuid(dataSet.randomUser().id))
+                .setPageSize(PAGE_SIZE)
+                .build()));
+    }
+
+    public RpcOperation get(String rpcName) {
+        final RpcOperation operation = operations.get(rpcName);
+        if (operation == null) {
+            throw new IllegalArgumentException(format("Unknown RPC %s. Known RPCs are %s",
+                    rpcName, String.join(", ", operations.keySet())));
+        }
+        return operation;
+    }
+
+    /**
+     * The operations for the given RPC names, or all of them if the list is empty
+     */
+    public Map<String, RpcOperation> select(List<String> rpcNames) {
+        if (rpcNames.isEmpty()) {
+            return new LinkedHashMap<>(operations);
+        }
+        final Map<String, RpcOperation> selected = new LinkedHashMap<>();
+        rpcNames.forEach(name -> selected.put(name, get(name)));
+        return selected;
+    }
+}
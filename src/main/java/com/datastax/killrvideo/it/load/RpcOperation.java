@@ -0,0 +1,12 @@
+package com.datastax.killrvideo.it.load;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * A single asynchronous RPC invocation issued by the load driver
+ */
+@FunctionalInterface
+public interface RpcOperation {
+
+    ListenableFuture<?> call();
+}
@@ -0,0 +1,71 @@
+package com.datastax.killrvideo.it.load;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency and outcome statistics for one RPC.
+ * Latencies are recorded in microseconds
+ */
+public class RpcStats {
+
+    private final String rpcName;
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final AtomicReference<String> lastError = new AtomicReference<>();
+
+    public RpcStats(String rpcName) {
+        this.rpcName = rpcName;
+    }
+
+    public void recordSuccess(long latencyInNanos) {
+        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyInNanos));
+        successCount.increment();
+    }
+
+    public void recordError(long latencyInNanos, Throwable error) {
+        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyInNanos));
+        errorCount.increment();
+        lastError.set(error.getMessage());
+    }
+
+    public String getRpcName() {
+        return rpcName;
+    }
+
+    public long getSuccessCount() {
+        return successCount.sum();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public long getTotalCount() {
+        return getSuccessCount() + getErrorCount();
+    }
+
+    public String getLastError() {
+        return lastError.get();
+    }
+
+    /**
+     * Latency at the given percentile (0..100), in milliseconds
+     */
+    public double getLatencyInMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getMaxLatencyInMillis() {
+        return latencies.getMaxValue() / 1000.0;
+    }
+
+    public Histogram getLatencies() {
+        return latencies.copy();
+    }
+}
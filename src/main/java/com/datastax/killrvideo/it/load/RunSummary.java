@@ -0,0 +1,73 @@
+package com.datastax.killrvideo.it.load;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per RPC throughput and latency percentiles of one load run, as kept by the {@link ResultsStore}
+ */
+public class RunSummary {
+
+    private final String scenario;
+    private final String build;
+    private final long timestamp;
+    private final Map<String, RpcSummary> rpcs;
+
+    public RunSummary(String scenario, String build, long timestamp, Map<String, RpcSummary> rpcs) {
+        this.scenario = scenario;
+        this.build = build;
+        this.timestamp = timestamp;
+        this.rpcs = Collections.unmodifiableMap(new TreeMap<>(rpcs));
+    }
+
+    public static RunSummary of(String build, LoadReport report) {
+        final Map<String, RpcSummary> rpcs = new TreeMap<>();
+        for (RpcStats stats : report.getStats()) {
+            rpcs.put(stats.getRpcName(), new RpcSummary(
+                    stats.getTotalCount(),
+                    stats.getErrorCount(),
+                    report.getThroughput(stats),
+                    stats.getLatencyInMillis(50),
+                    stats.getLatencyInMillis(99),
+                    stats.getLatencyInMillis(99.9)));
+        }
+        return new RunSummary(report.getName(), build, System.currentTimeMillis(), rpcs);
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public String getBuild() {
+        return build;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Map<String, RpcSummary> getRpcs() {
+        return rpcs;
+    }
+
+    public static class RpcSummary {
+
+        public final long count;
+        public final long errors;
+        public final double throughput;
+        public final double p50InMillis;
+        public final double p99InMillis;
+        public final double p999InMillis;
+
+        public RpcSummary(long count, long errors, double throughput,
+                          double p50InMillis, double p99InMillis, double p999InMillis) {
+            this.count = count;
+            this.errors = errors;
+            this.throughput = throughput;
+            this.p50InMillis = p50InMillis;
+            this.p99InMillis = p99InMillis;
+            this.p999InMillis = p999InMillis;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.datastax.killrvideo.it.load;
+
+import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.SAMPLE_DATA_SERVICE_NAME;
+import static com.datastax.killrvideo.it.load.MixedWorkloadScenario.WRITTEN_TABLES;
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
+import com.datastax.killrvideo.it.dao.CassandraDao;
+import com.datastax.killrvideo.it.grpc.ChannelRegistry;
+
+import killrvideo.sample_data.SampleDataServiceGrpc;
+import killrvideo.sample_data.SampleDataServiceGrpc.SampleDataServiceFutureStub;
+import killrvideo.sample_data.SampleDataServiceOuterClass.AddSampleCommentsRequest;
+import killrvideo.sample_data.SampleDataServiceOuterClass.AddSampleRatingsRequest;
+import killrvideo.sample_data.SampleDataServiceOuterClass.AddSampleUsersRequest;
+import killrvideo.sample_data.SampleDataServiceOuterClass.AddSampleVideoViewsRequest;
+import killrvideo.sample_data.SampleDataServiceOuterClass.AddSampleYouTubeVideosRequest;
+import killrvideo.sample_data.SampleDataServiceOuterClass.RefreshYouTubeSourcesRequest;
+
+/**
+ * Calls the SampleDataService RPCs at maximum rate with an increasing number of concurrent callers,
+ * one run of killrvideo.load.duration.seconds per level of killrvideo.load.sample.data.callers.
+ * For each level it reports the sample rows requested per second, the users and videos actually
+ * recorded in <em>sample_data_users</em> / <em>sample_data_videos</em>, and the lease owner changes.
+ * <br/>
+ * RefreshYouTubeSources reaches out to YouTube, so it is only called when listed in killrvideo.load.rpcs
+ */
+@Component
+public class SampleDataScenario implements LoadScenario {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SampleDataScenario.class);
+
+    private static final List<String> SAMPLE_DATA_TABLES = Collections.unmodifiableList(Arrays.asList(
+            "sample_data_users", "sample_data_videos", "sample_data_youtube_videos", "sample_data_leases", "sample_data_job_log"));
+    private static final List<String> DEFAULT_RPCS = Collections.unmodifiableList(Arrays.asList(
+            "AddSampleUsers", "AddSampleYouTubeVideos", "AddSampleComments", "AddSampleRatings", "AddSampleVideoViews"));
+    private static final long LEASE_POLL_INTERVAL_IN_MILLIS = 1000;
+    private static final int COUNT_TIMEOUT_IN_MILLIS = 60000;
+
+    @Inject
+    private ChannelRegistry channels;
+
+    @Inject
+    private CassandraDao dao;
+
+    @Inject
+    private KillrVideoProperties properties;
+
+    @Override
+    public String name() {
+        return "sample-data";
+    }
+
+    @Override
+    public LoadReport run() throws Exception {
+        if (properties.loadTruncateTables) {
+            LOGGER.info(format("Truncating %s and %s before load generation",
+                    String.join(", ", WRITTEN_TABLES), String.join(", ", SAMPLE_DATA_TABLES)));
+            dao.truncate(WRITTEN_TABLES);
+            dao.truncate(SAMPLE_DATA_TABLES);
+        }
+        dao.markDirty(WRITTEN_TABLES);
+        dao.markDirty(SAMPLE_DATA_TABLES);
+
+        final Map<String, RpcOperation> operations = selectOperations();
+        final int batchSize = properties.loadSampleDataBatchSize;
+        final List<ScalingLevel> levels = new ArrayList<>();
+        LoadReport report = null;
+
+        for (int callers : properties.loadSampleDataCallers) {
+            final LoadDriver driver = new LoadDriver(operations, callers, 0);
+            final long usersBefore = count("sample_data_users");
+            final long videosBefore = count("sample_data_videos");
+
+            try (LeaseMonitor leases = new LeaseMonitor(dao, LEASE_POLL_INTERVAL_IN_MILLIS)) {
+                report = driver.run(format("%s-%d-callers", name(), callers), properties.loadDurationInSeconds);
+                leases.stop();
+                LOGGER.info(report.prettyPrint());
+                LOGGER.info(format("%nSample data leases with %d callers%n%s", callers, leases.prettyPrint()));
+
+                final long requestedRows = report.getStats()
+                        .stream()
+                        .filter(x -> !x.getRpcName().equals("RefreshYouTubeSources"))
+                        .mapToLong(RpcStats::getSuccessCount)
+                        .sum() * batchSize;
+                levels.add(new ScalingLevel(callers, report.getElapsedInSeconds(), requestedRows,
+                        count("sample_data_users") - usersBefore,
+                        count("sample_data_videos") - videosBefore,
+                        leases.getOwnerChangeCount()));
+            }
+        }
+
+        LOGGER.info(prettyPrint(levels));
+        return report;
+    }
+
+    private Map<String, RpcOperation> selectOperations() {
+        final SampleDataServiceFutureStub stub = SampleDataServiceGrpc.newFutureStub(channels.get(SAMPLE_DATA_SERVICE_NAME));
+        final int batchSize = properties.loadSampleDataBatchSize;
+
+        final Map<String, RpcOperation> operations = new LinkedHashMap<>();
+        operations.put("AddSampleUsers", () -> stub.addSampleUsers(AddSampleUsersRequest.newBuilder()
+                .setNumberOfUsers(batchSize)
+                .build()));
+        operations.put("AddSampleYouTubeVideos", () -> stub.addSampleYouTubeVideos(AddSampleYouTubeVideosRequest.newBuilder()
+                .setNumberOfVideos(batchSize)
+                .build()));
+        operations.put("AddSampleComments", () -> stub.addSampleComments(AddSampleCommentsRequest.newBuilder()
+                .setNumberOfComments(batchSize)
+                .build()));
+        operations.put("AddSampleRatings", () -> stub.addSampleRatings(AddSampleRatingsRequest.newBuilder()
+                .setNumberOfRatings(batchSize)
+                .build()));
+        operations.put("AddSampleVideoViews", () -> stub.addSampleVideoViews(AddSampleVideoViewsRequest.newBuilder()
+                .setNumberOfViews(batchSize)
+                .build()));
+        operations.put("RefreshYouTubeSources", () -> stub.refreshYouTubeSources(
+                RefreshYouTubeSourcesRequest.getDefaultInstance()));
+
+        final List<String> rpcNames = properties.loadRpcs.isEmpty() ? DEFAULT_RPCS : properties.loadRpcs;
+        final Map<String, RpcOperation> selected = new LinkedHashMap<>();
+        for (String rpcName : rpcNames) {
+            final RpcOperation operation = operations.get(rpcName);
+            if (operation == null) {
+                throw new IllegalArgumentException(format("Unknown SampleDataService RPC %s. Known RPCs are %s",
+                        rpcName, String.join(", ", operations.keySet())));
+            }
+            selected.put(rpcName, operation);
+        }
+        return selected;
+    }
+
+    private long count(String tablename) {
+        return dao.session.execute(new SimpleStatement("SELECT COUNT(*) FROM " + dao.keyspace + "." + tablename)
+                .setReadTimeoutMillis(COUNT_TIMEOUT_IN_MILLIS))
+                .one()
+                .getLong(0);
+    }
+
+    private static String prettyPrint(List<ScalingLevel> levels) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(format("%n===== Sample data generation scaling =====%n"));
+        builder.append(format("%8s %16s %10s %14s %14s %14s%n",
+                "callers", "requested rows/s", "speedup", "sample users", "sample videos", "lease changes"));
+        final double baseline = levels.isEmpty() ? 0 : levels.get(0).getRequestedRowsPerSecond();
+        for (ScalingLevel level : levels) {
+            builder.append(format("%8d %16.1f %10.2f %14d %14d %14d%n",
+                    level.callers,
+                    level.getRequestedRowsPerSecond(),
+                    baseline > 0 ? level.getRequestedRowsPerSecond() / baseline : 0,
+                    level.sampleUsers,
+                    level.sampleVideos,
+                    level.leaseOwnerChanges));
+        }
+        return builder.toString();
+    }
+
+    private static class ScalingLevel {
+
+        private final int callers;
+        private final double elapsedInSeconds;
+        private final long requestedRows;
+        private final long sampleUsers;
+        private final long sampleVideos;
+        private final long leaseOwnerChanges;
+
+        private ScalingLevel(int callers, double elapsedInSeconds, long requestedRows,
+                             long sampleUsers, long sampleVideos, long leaseOwnerChanges) {
+            this.callers = callers;
+            this.elapsedInSeconds = elapsedInSeconds;
+            this.requestedRows = requestedRows;
+            this.sampleUsers = sampleUsers;
+            this.sampleVideos = sampleVideos;
+            this.leaseOwnerChanges = leaseOwnerChanges;
+        }
+
+        private double getRequestedRowsPerSecond() {
+            return elapsedInSeconds > 0 ? requestedRows / elapsedInSeconds : 0;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.datastax.killrvideo.it.load;
+
+import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.USER_SERVICE_NAME;
+import static com.datastax.killrvideo.it.dao.CassandraDao.FIND_USER_BY_EMAIL;
+import static com.datastax.killrvideo.it.dao.CassandraDao.USER_TABLES;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.groupingBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.inject.Inject;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.datastax.driver.core.Row;
+import com.datastax.killrvideo.it.async.InFlightWindow;
+import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
+import com.datastax.killrvideo.it.dao.CassandraDao;
+import com.datastax.killrvideo.it.grpc.ChannelRegistry;
+import com.datastax.killrvideo.it.load.LoadDataSet.SeededUser;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import killrvideo.user_management.UserManagementServiceGrpc;
+import killrvideo.user_management.UserManagementServiceGrpc.UserManagementServiceFutureStub;
+import killrvideo.user_management.UserManagementServiceOuterClass.CreateUserResponse;
+
+/**
+ * Sends CreateUser for killrvideo.load.lwt.unique.emails emails once each and for
+ * killrvideo.load.lwt.colliding.emails emails killrvideo.load.lwt.attempts.per.email times each, all shuffled
+ * and pipelined within killrvideo.load.concurrency requests in flight, to measure the lightweight transaction
+ * guarding <em>user_credentials</em>.
+ * <br/>
+ * Outcomes are classified once the <em>user_credentials</em> row of each email is read back: the attempt whose
+ * user id is in the row won, any other failed attempt was rejected. Exactly one accepted attempt per email,
+ * matching the row, is expected
+ */
+@Component
+public class SignupContentionScenario implements LoadScenario {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SignupContentionScenario.class);
+
+    private static final String ACCEPTED_UNIQUE = "accepted (unique)";
+    private static final String ACCEPTED_COLLIDING = "accepted (colliding)";
+    private static final String REJECTED = "rejected";
+    private static final String FAILED = "failed";
+
+    @Inject
+    private ChannelRegistry channels;
+
+    @Inject
+    private CassandraDao dao;
+
+    @Inject
+    private KillrVideoProperties properties;
+
+    @Override
+    public String name() {
+        return "signup-contention";
+    }
+
+    @Override
+    public LoadReport run() throws Exception {
+        dao.markDirty(USER_TABLES);
+
+        final List<Attempt> attempts = new ArrayList<>();
+        for (int i = 0; i < properties.loadLwtUniqueEmails; i++) {
+            attempts.add(new Attempt(newEmail(), false));
+        }
+        for (int i = 0; i < properties.loadLwtCollidingEmails; i++) {
+            final String email = newEmail();
+            for (int j = 0; j < properties.loadLwtAttemptsPerEmail; j++) {
+                attempts.add(new Attempt(email, true));
+            }
+        }
+        Collections.shuffle(attempts);
+
+        LOGGER.info(format("Sending %d CreateUser requests for %d unique and %d colliding emails, %d in flight",
+                attempts.size(), properties.loadLwtUniqueEmails, properties.loadLwtCollidingEmails, properties.loadConcurrency));
+
+        final UserManagementServiceFutureStub userStub = UserManagementServiceGrpc.newFutureStub(channels.get(USER_SERVICE_NAME));
+        final InFlightWindow window = new InFlightWindow(properties.loadConcurrency);
+        final LoadReport report = new LoadReport(name());
+        report.start();
+        for (Attempt attempt : attempts) {
+            // Timed once a slot is acquired, waiting for the window is not part of the CreateUser latency
+            Futures.addCallback(window.submit(() -> {
+                        attempt.startNanos = System.nanoTime();
+                        return userStub.createUser(LoadDataSeeder.createUserRequest(attempt.user));
+                    }),
+                    new FutureCallback<CreateUserResponse>() {
+                        @Override
+                        public void onSuccess(CreateUserResponse result) {
+                            attempt.complete(null);
+                        }
+
+                        @Override
+                        public void onFailure(Throwable t) {
+                            attempt.complete(t);
+                        }
+                    }, MoreExecutors.directExecutor());
+        }
+        window.awaitQuiescence();
+        report.stop();
+
+        verifyWinners(attempts, report);
+        return report;
+    }
+
+    private void verifyWinners(List<Attempt> attempts, LoadReport report) {
+        final Map<String, List<Attempt>> attemptsByEmail = attempts.stream().collect(groupingBy(x -> x.user.email));
+        int emailsWithoutRow = 0;
+        int emailsWithSeveralWinners = 0;
+        int emailsWithoutWinner = 0;
+        int emailsWithWrongRow = 0;
+
+        for (Map.Entry<String, List<Attempt>> entry : attemptsByEmail.entrySet()) {
+            final Row row = dao.getOne(FIND_USER_BY_EMAIL, entry.getKey());
+            final UUID rowUserId = row == null ? null : row.getUUID("userid");
+            int accepted = 0;
+            boolean rowMatchesAccepted = false;
+            for (Attempt attempt : entry.getValue()) {
+                final String outcome;
+                if (attempt.error == null) {
+                    accepted++;
+                    rowMatchesAccepted |= attempt.user.id.equals(rowUserId);
+                    outcome = attempt.colliding ? ACCEPTED_COLLIDING : ACCEPTED_UNIQUE;
+                } else {
+                    outcome = rowUserId != null && !attempt.user.id.equals(rowUserId) ? REJECTED : FAILED;
+                }
+                if (outcome.equals(FAILED)) {
+                    report.forRpc(outcome).recordError(attempt.latencyInNanos, attempt.error);
+                } else {
+                    report.forRpc(outcome).recordSuccess(attempt.latencyInNanos);
+                }
+            }
+
+            if (rowUserId == null) {
+                emailsWithoutRow++;
+            } else if (accepted > 1) {
+                emailsWithSeveralWinners++;
+            } else if (accepted == 0) {
+                emailsWithoutWinner++;
+            } else if (!rowMatchesAccepted) {
+                emailsWithWrongRow++;
+            }
+        }
+
+        final int anomalies = emailsWithoutRow + emailsWithSeveralWinners + emailsWithoutWinner + emailsWithWrongRow;
+        final String summary = format("%d emails checked: %d without row, %d with several accepted requests, " +
+                        "%d without accepted request, %d with a row from a rejected request",
+                attemptsByEmail.size(), emailsWithoutRow, emailsWithSeveralWinners, emailsWithoutWinner, emailsWithWrongRow);
+        LOGGER.info(summary);
+        if (anomalies > 0) {
+            report.fail(format("%d emails without exactly one accepted request matching the stored user", anomalies));
+        }
+    }
+
+    private static String newEmail() {
+        return RandomStringUtils.randomAlphabetic(12) + "@lwt.killrvideo.com";
+    }
+
+    private static class Attempt {
+
+        private final SeededUser user;
+        private final boolean colliding;
+        private volatile long startNanos;
+        private volatile long latencyInNanos;
+        private volatile Throwable error;
+
+        private Attempt(String email, boolean colliding) {
+            this.user = new SeededUser(UUID.randomUUID(), email, RandomStringUtils.randomAlphanumeric(10));
+            this.colliding = colliding;
+        }
+
+        private void complete(Throwable error) {
+            this.latencyInNanos = System.nanoTime() - startNanos;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.datastax.killrvideo.it.load;
+
+import static com.datastax.killrvideo.it.load.MixedWorkloadScenario.WRITTEN_TABLES;
+import static java.lang.String.format;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.datastax.killrvideo.it.async.InFlightWindow;
+import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
+import com.datastax.killrvideo.it.dao.CassandraDao;
+import com.datastax.killrvideo.it.grpc.ByteArrayMarshaller;
+import com.datastax.killrvideo.it.grpc.CapturedCall;
+import com.datastax.killrvideo.it.grpc.ChannelRegistry;
+import com.datastax.killrvideo.it.grpc.TrafficLogReader;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import io.grpc.CallOptions;
+import io.grpc.MethodDescriptor;
+import io.grpc.stub.ClientCalls;
+
+/**
+ * Sends back the requests of a traffic log captured with killrvideo.grpc.capture.file, in the captured order,
+ * killrvideo.load.replay.speed times faster than captured (0 for as fast as killrvideo.load.concurrency allows).
+ * <br/>
+ * Requests are sent as raw bytes on the channels of the {@link ChannelRegistry}, no generated stub is involved.
+ * As with the {@link LoadDriver}, latency is measured from the scheduled send time when the replay is paced
+ */
+@Component
+public class TrafficReplayScenario implements LoadScenario {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrafficReplayScenario.class);
+
+    @Inject
+    private ChannelRegistry channels;
+
+    @Inject
+    private CassandraDao dao;
+
+    @Inject
+    private KillrVideoProperties properties;
+
+    private final Map<String, MethodDescriptor<byte[], byte[]>> methods = new HashMap<>();
+
+    @Override
+    public String name() {
+        return "replay";
+    }
+
+    @Override
+    public LoadReport run() throws Exception {
+        if (properties.loadReplayFile.isEmpty()) {
+            throw new IllegalArgumentException(format("Please set %s to the traffic log to replay", KillrVideoProperties.LOAD_REPLAY_FILE));
+        }
+        final File logFile = new File(properties.loadReplayFile).getAbsoluteFile();
+        if (!properties.grpcCaptureFile.isEmpty() && new File(properties.grpcCaptureFile).getAbsoluteFile().equals(logFile)) {
+            throw new IllegalArgumentException(format("Cannot replay %s while capturing into it", logFile));
+        }
+        if (properties.loadTruncateTables) {
+            LOGGER.info(format("Truncating %s before replay", String.join(", ", WRITTEN_TABLES)));
+            dao.truncate(WRITTEN_TABLES);
+        }
+        dao.markDirty(WRITTEN_TABLES);
+
+        final double speed = properties.loadReplaySpeed;
+        final boolean paced = speed > 0;
+        LOGGER.info(format("Replaying %s at %s with %d concurrent requests", logFile,
+                paced ? speed + "x" : "maximum rate", properties.loadConcurrency));
+
+        final InFlightWindow window = new InFlightWindow(properties.loadConcurrency);
+        final LoadReport report = new LoadReport(name());
+        try (TrafficLogReader reader = new TrafficLogReader(logFile)) {
+            report.start();
+            final long startNanos = System.nanoTime();
+            long firstOffsetInNanos = -1;
+            while (reader.hasNext()) {
+                final CapturedCall call = reader.next();
+                if (firstOffsetInNanos < 0) {
+                    firstOffsetInNanos = call.getOffsetInNanos();
+                }
+                final long scheduledStart = paced
+                        ? startNanos + (long) ((call.getOffsetInNanos() - firstOffsetInNanos) / speed)
+                        : 0L;
+                if (paced) {
+                    waitUntil(scheduledStart);
+                }
+                window.acquire();
+                final RpcStats stats = report.forRpc(call.getMethodName());
+                final long sendTime = paced ? scheduledStart : System.nanoTime();
+                try {
+                    Futures.addCallback(send(call), new FutureCallback<byte[]>() {
+                        @Override
+                        public void onSuccess(byte[] response) {
+                            stats.recordSuccess(System.nanoTime() - sendTime);
+                            window.release();
+                        }
+
+                        @Override
+                        public void onFailure(Throwable error) {
+                            stats.recordError(System.nanoTime() - sendTime, error);
+                            window.release();
+                        }
+                    }, MoreExecutors.directExecutor());
+                } catch (RuntimeException ex) {
+                    window.release();
+                    stats.recordError(System.nanoTime() - sendTime, ex);
+                }
+            }
+            window.awaitQuiescence();
+        } finally {
+            report.stop();
+        }
+        return report;
+    }
+
+    private ListenableFuture<byte[]> send(CapturedCall call) {
+        final MethodDescriptor<byte[], byte[]> method = methods.computeIfAbsent(call.getFullMethodName(),
+                x -> MethodDescriptor.create(MethodDescriptor.MethodType.UNARY, x,
+                        ByteArrayMarshaller.INSTANCE, ByteArrayMarshaller.INSTANCE));
+        return ClientCalls.futureUnaryCall(channels.get(call.getServiceName()).newCall(method, CallOptions.DEFAULT),
+                call.getRequest());
+    }
+
+    private static void waitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.datastax.killrvideo.it.seed;
+
+import static java.lang.String.format;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows and requests written by one {@link BulkSeeder} run
+ */
+public class BulkSeedReport {
+
+    private final long rowCount;
+    private final long requestCount;
+    private final long errorCount;
+    private final long elapsedInNanos;
+
+    public BulkSeedReport(long rowCount, long requestCount, long errorCount, long elapsedInNanos) {
+        this.rowCount = rowCount;
+        this.requestCount = requestCount;
+        this.errorCount = errorCount;
+        this.elapsedInNanos = elapsedInNanos;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public double getElapsedInSeconds() {
+        return elapsedInNanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    public double getRowsPerSecond() {
+        final double elapsed = getElapsedInSeconds();
+        return elapsed > 0 ? rowCount / elapsed : 0;
+    }
+
+    public String prettyPrint() {
+        return format("%n===== Bulk seed: %d rows in %d requests (%d errors), %.1f s, %.0f rows/s =====%n",
+                rowCount, requestCount, errorCount, getElapsedInSeconds(), getRowsPerSecond());
+    }
+}
@@ -0,0 +1,40 @@
+package com.datastax.killrvideo.it.seed;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
+import com.datastax.killrvideo.it.dao.CassandraDao;
+
+/**
+ * Bulk seeds the killrvideo tables once the Spring context is up, before any load run.
+ * <br/>
+ * Only active when the application is started with --killrvideo.seed.enabled=true
+ */
+@Component
+@Order(0)
+@ConditionalOnProperty(name = KillrVideoProperties.SEED_ENABLED, havingValue = "true")
+public class BulkSeedRunner implements CommandLineRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkSeedRunner.class);
+
+    @Inject
+    private KillrVideoProperties properties;
+
+    @Inject
+    private CassandraDao dao;
+
+    @Override
+    public void run(String... args) throws Exception {
+        final BulkSeeder seeder = new BulkSeeder(dao, properties.seedThreads, properties.seedMaxInFlight);
+        final BulkSeedReport report = seeder.seed(properties.seedUsers, properties.seedVideosPerUser,
+                properties.seedCommentsPerVideo, properties.seedRatingsPerVideo);
+        LOGGER.info(report.prettyPrint());
+    }
+}
@@ -0,0 +1,302 @@
+package com.datastax.killrvideo.it.seed;
+
+import static java.lang.String.format;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.utils.UUIDs;
+import com.datastax.killrvideo.it.async.InFlightWindow;
+import com.datastax.killrvideo.it.dao.CassandraDao;
+import com.datastax.killrvideo.it.load.LoadDataSet;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+/**
+ * Writes users, videos, comments and ratings directly into the killrvideo tables, denormalised the way
+ * KillrVideoServer does, to test the read paths at realistic data sizes.
+ * <br/>
+ * Users are split in slices generated concurrently, one slice per thread. Writes are asynchronous and bounded
+ * by an {@link InFlightWindow}. Rows of a same partition (the videos of a user, the comments of a video...)
+ * are grouped in unlogged batches, which the token-aware policy routes to a replica of that partition.
+ * <br/>
+ * The <em>pass</em> column is written in clear text, so seeded users cannot log in through VerifyCredentials.
+ * Counters are not reset, use one seeder per seeding run
+ */
+public class BulkSeeder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkSeeder.class);
+
+    /**
+     * Keeps every batch well below the default batch_size_warn_threshold_in_kb
+     */
+    private static final int MAX_STATEMENTS_PER_BATCH = 20;
+    private static final int RECENT_USERS = 256;
+    private static final long ADDED_DATE_RANGE_IN_MILLIS = TimeUnit.DAYS.toMillis(30);
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneOffset.UTC);
+
+    public static final String INSERT_USER = "INSERT INTO killrvideo.users " +
+            "(userid, firstname, lastname, email, created_date) VALUES (?, ?, ?, ?, ?)";
+    public static final String INSERT_USER_CREDENTIALS = "INSERT INTO killrvideo.user_credentials " +
+            "(email, pass, userid) VALUES (?, ?, ?)";
+    public static final String INSERT_VIDEO = "INSERT INTO killrvideo.videos " +
+            "(videoid, userid, name, description, location, location_type, preview_image_location, tags, added_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    public static final String INSERT_USER_VIDEO = "INSERT INTO killrvideo.user_videos " +
+            "(userid, added_date, videoid, name, preview_image_location) VALUES (?, ?, ?, ?, ?)";
+    public static final String INSERT_LATEST_VIDEO = "INSERT INTO killrvideo.latest_videos " +
+            "(yyyymmdd, added_date, videoid, userid, name, preview_image_location) VALUES (?, ?, ?, ?, ?, ?)";
+    public static final String INSERT_VIDEO_BY_TAG = "INSERT INTO killrvideo.videos_by_tag " +
+            "(tag, videoid, added_date, userid, name, preview_image_location, tagged_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    public static final String INSERT_TAG_BY_LETTER = "INSERT INTO killrvideo.tags_by_letter " +
+            "(first_letter, tag) VALUES (?, ?)";
+    public static final String INSERT_COMMENT_BY_VIDEO = "INSERT INTO killrvideo.comments_by_video " +
+            "(videoid, commentid, userid, comment) VALUES (?, ?, ?, ?)";
+    public static final String INSERT_COMMENT_BY_USER = "INSERT INTO killrvideo.comments_by_user " +
+            "(userid, commentid, videoid, comment) VALUES (?, ?, ?, ?)";
+    public static final String INSERT_RATING_BY_USER = "INSERT INTO killrvideo.video_ratings_by_user " +
+            "(videoid, userid, rating) VALUES (?, ?, ?)";
+    public static final String UPDATE_RATING = "UPDATE killrvideo.video_ratings " +
+            "SET rating_counter = rating_counter + ?, rating_total = rating_total + ? WHERE videoid = ?";
+
+    private final CassandraDao dao;
+    private final int threads;
+    private final InFlightWindow window;
+
+    private final LongAdder rowCount = new LongAdder();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final AtomicReference<Throwable> firstError = new AtomicReference<>();
+
+    private PreparedStatement insertUser;
+    private PreparedStatement insertUserCredentials;
+    private PreparedStatement insertVideo;
+    private PreparedStatement insertUserVideo;
+    private PreparedStatement insertLatestVideo;
+    private PreparedStatement insertVideoByTag;
+    private PreparedStatement insertTagByLetter;
+    private PreparedStatement insertCommentByVideo;
+    private PreparedStatement insertCommentByUser;
+    private PreparedStatement insertRatingByUser;
+    private PreparedStatement updateRating;
+
+    /**
+     * @param threads     generator threads, one slice of users each
+     * @param maxInFlight requests (single statements or batches) in flight at any time
+     */
+    public BulkSeeder(CassandraDao dao, int threads, int maxInFlight) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException(format("The number of seeder threads should be strictly positive, found %s", threads));
+        }
+        this.dao = dao;
+        this.threads = threads;
+        this.window = new InFlightWindow(maxInFlight);
+    }
+
+    public BulkSeedReport seed(int userCount, int videosPerUser, int commentsPerVideo, int ratingsPerVideo)
+            throws InterruptedException {
+        LOGGER.info(format("Bulk seeding %d users with %d videos each, %d comments and %d ratings per video, on %d threads",
+                userCount, videosPerUser, commentsPerVideo, ratingsPerVideo, threads));
+        prepareStatements();
+
+        final long startNanos = System.nanoTime();
+        for (String tag : LoadDataSet.TAGS) {
+            write(insertTagByLetter.bind(tag.substring(0, 1), tag), 1);
+        }
+
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ExecutorService generators = Executors.newFixedThreadPool(threads, task -> {
+            final Thread thread = new Thread(task, "killrvideoit-seed-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<?>> slices = new ArrayList<>(threads);
+            final int sliceSize = Math.max(1, (userCount + threads - 1) / threads);
+            for (int from = 0; from < userCount; from += sliceSize) {
+                final int count = Math.min(sliceSize, userCount - from);
+                slices.add(generators.submit(() -> {
+                    generateSlice(count, videosPerUser, commentsPerVideo, ratingsPerVideo);
+                    return null;
+                }));
+            }
+            for (Future<?> slice : slices) {
+                slice.get();
+            }
+            window.awaitQuiescence();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Cannot generate seed data", e.getCause());
+        } finally {
+            generators.shutdownNow();
+        }
+
+        final BulkSeedReport report = new BulkSeedReport(rowCount.sum(), requestCount.sum(), errorCount.sum(),
+                System.nanoTime() - startNanos);
+        if (firstError.get() != null) {
+            throw new IllegalStateException(format("Cannot seed data, %d requests out of %d failed. First error : %s",
+                    report.getErrorCount(), report.getRequestCount(), firstError.get().getMessage()), firstError.get());
+        }
+        return report;
+    }
+
+    private void prepareStatements() {
+        insertUser = dao.statements.get(dao.qualify(INSERT_USER));
+        insertUserCredentials = dao.statements.get(dao.qualify(INSERT_USER_CREDENTIALS));
+        insertVideo = dao.statements.get(dao.qualify(INSERT_VIDEO));
+        insertUserVideo = dao.statements.get(dao.qualify(INSERT_USER_VIDEO));
+        insertLatestVideo = dao.statements.get(dao.qualify(INSERT_LATEST_VIDEO));
+        insertVideoByTag = dao.statements.get(dao.qualify(INSERT_VIDEO_BY_TAG));
+        insertTagByLetter = dao.statements.get(dao.qualify(INSERT_TAG_BY_LETTER));
+        insertCommentByVideo = dao.statements.get(dao.qualify(INSERT_COMMENT_BY_VIDEO));
+        insertCommentByUser = dao.statements.get(dao.qualify(INSERT_COMMENT_BY_USER));
+        insertRatingByUser = dao.statements.get(dao.qualify(INSERT_RATING_BY_USER));
+        updateRating = dao.statements.get(dao.qualify(UPDATE_RATING));
+    }
+
+    /**
+     * Comments and ratings of a video come from the users generated just before in the same slice
+     */
+    private void generateSlice(int userCount, int videosPerUser, int commentsPerVideo, int ratingsPerVideo)
+            throws InterruptedException {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final UUID[] recentUsers = new UUID[RECENT_USERS];
+        final long now = System.currentTimeMillis();
+
+        for (int i = 0; i < userCount && firstError.get() == null; i++) {
+            final UUID userId = UUID.randomUUID();
+            final String email = userId + "@seed.killrvideo.com";
+            final Date createdDate = new Date(now - random.nextLong(ADDED_DATE_RANGE_IN_MILLIS));
+            write(insertUser.bind(userId, "Seed", "User " + i, email, createdDate), 1);
+            write(insertUserCredentials.bind(email, "seed-" + i, userId), 1);
+            recentUsers[i % RECENT_USERS] = userId;
+            final int knownUsers = Math.min(i + 1, RECENT_USERS);
+
+            final List<Statement> userVideos = new ArrayList<>(videosPerUser);
+            final Map<String, List<Statement>> latestVideosByDay = new LinkedHashMap<>();
+            final Map<String, List<Statement>> videosByTag = new LinkedHashMap<>();
+            final Map<UUID, List<Statement>> commentsByUser = new LinkedHashMap<>();
+
+            for (int v = 0; v < videosPerUser; v++) {
+                final UUID videoId = UUID.randomUUID();
+                final Date addedDate = new Date(now - random.nextLong(ADDED_DATE_RANGE_IN_MILLIS));
+                final String name = "seed-" + videoId + ".mp4";
+                final String youTubeId = Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+                final String previewImage = "//img.youtube.com/vi/" + youTubeId + "/hqdefault.jpg";
+                final Set<String> tags = new LinkedHashSet<>();
+                for (int t = random.nextInt(1, 4); t > 0; t--) {
+                    tags.add(LoadDataSet.randomTag());
+                }
+
+                write(insertVideo.bind(videoId, userId, name, "Video generated by the bulk seeder", youTubeId,
+                        0, previewImage, tags, addedDate), 1);
+                userVideos.add(insertUserVideo.bind(userId, addedDate, videoId, name, previewImage));
+                final String yyyymmdd = YYYYMMDD.format(Instant.ofEpochMilli(addedDate.getTime()));
+                latestVideosByDay.computeIfAbsent(yyyymmdd, x -> new ArrayList<>())
+                        .add(insertLatestVideo.bind(yyyymmdd, addedDate, videoId, userId, name, previewImage));
+                for (String tag : tags) {
+                    videosByTag.computeIfAbsent(tag, x -> new ArrayList<>())
+                            .add(insertVideoByTag.bind(tag, videoId, addedDate, userId, name, previewImage, addedDate));
+                }
+
+                final List<Statement> commentsByVideo = new ArrayList<>(commentsPerVideo);
+                for (int c = 0; c < commentsPerVideo; c++) {
+                    final UUID commenterId = recentUsers[random.nextInt(knownUsers)];
+                    final UUID commentId = UUIDs.timeBased();
+                    final String comment = "Seed comment " + c + " on " + name;
+                    commentsByVideo.add(insertCommentByVideo.bind(videoId, commentId, commenterId, comment));
+                    commentsByUser.computeIfAbsent(commenterId, x -> new ArrayList<>())
+                            .add(insertCommentByUser.bind(commenterId, commentId, videoId, comment));
+                }
+                writeBatches(commentsByVideo);
+
+                final int raterCount = Math.min(ratingsPerVideo, knownUsers);
+                if (raterCount > 0) {
+                    final int firstRater = random.nextInt(knownUsers);
+                    final List<Statement> ratings = new ArrayList<>(raterCount);
+                    long ratingTotal = 0;
+                    for (int r = 0; r < raterCount; r++) {
+                        final int rating = random.nextInt(1, 6);
+                        ratingTotal += rating;
+                        ratings.add(insertRatingByUser.bind(videoId, recentUsers[(firstRater + r) % knownUsers], rating));
+                    }
+                    writeBatches(ratings);
+                    write(updateRating.bind((long) raterCount, ratingTotal, videoId), 1);
+                }
+            }
+
+            writeBatches(userVideos);
+            for (List<Statement> partitionRows : latestVideosByDay.values()) {
+                writeBatches(partitionRows);
+            }
+            for (List<Statement> partitionRows : videosByTag.values()) {
+                writeBatches(partitionRows);
+            }
+            for (List<Statement> partitionRows : commentsByUser.values()) {
+                writeBatches(partitionRows);
+            }
+        }
+    }
+
+    /**
+     * Writes the rows of one partition, a single row as is and several rows as unlogged batches
+     */
+    private void writeBatches(List<Statement> partitionRows) throws InterruptedException {
+        if (partitionRows.isEmpty()) {
+            return;
+        } else if (partitionRows.size() == 1) {
+            write(partitionRows.get(0), 1);
+            return;
+        }
+        for (int from = 0; from < partitionRows.size(); from += MAX_STATEMENTS_PER_BATCH) {
+            final List<Statement> rows = partitionRows.subList(from, Math.min(from + MAX_STATEMENTS_PER_BATCH, partitionRows.size()));
+            final BatchStatement batch = new BatchStatement(BatchStatement.Type.UNLOGGED);
+            batch.addAll(rows);
+            write(batch, rows.size());
+        }
+    }
+
+    private void write(Statement statement, int rows) throws InterruptedException {
+        final ListenableFuture<ResultSet> future = window.submit(() -> dao.session.executeAsync(statement));
+        Futures.addCallback(future, new FutureCallback<ResultSet>() {
+            @Override
+            public void onSuccess(ResultSet result) {
+                requestCount.increment();
+                rowCount.add(rows);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                requestCount.increment();
+                errorCount.increment();
+                firstError.compareAndSet(null, t);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+}
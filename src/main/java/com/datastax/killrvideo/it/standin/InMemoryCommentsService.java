@@ -0,0 +1,78 @@
+package com.datastax.killrvideo.it.standin;
+
+import static com.datastax.killrvideo.it.standin.StandInServer.respond;
+
+import java.time.Instant;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import com.datastax.killrvideo.it.util.TypeConverter;
+import com.google.protobuf.Timestamp;
+
+import io.grpc.stub.StreamObserver;
+import killrvideo.comments.CommentsServiceGrpc.AbstractCommentsService;
+import killrvideo.comments.CommentsServiceOuterClass.*;
+
+/**
+ * Comments kept in memory, latest first, both by video and by user
+ */
+class InMemoryCommentsService extends AbstractCommentsService {
+
+    private final ConcurrentMap<String, Deque<VideoComment>> commentsByVideo = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Deque<UserComment>> commentsByUser = new ConcurrentHashMap<>();
+
+    @Override
+    public void commentOnVideo(CommentOnVideoRequest request, StreamObserver<CommentOnVideoResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            final Timestamp now = TypeConverter.instantToTimeStamp(Instant.now());
+            commentsByVideo.computeIfAbsent(request.getVideoId().getValue(), x -> new ConcurrentLinkedDeque<>())
+                    .addFirst(VideoComment.newBuilder()
+                            .setCommentId(request.getCommentId())
+                            .setUserId(request.getUserId())
+                            .setComment(request.getComment())
+                            .setCommentTimestamp(now)
+                            .build());
+            commentsByUser.computeIfAbsent(request.getUserId().getValue(), x -> new ConcurrentLinkedDeque<>())
+                    .addFirst(UserComment.newBuilder()
+                            .setCommentId(request.getCommentId())
+                            .setVideoId(request.getVideoId())
+                            .setComment(request.getComment())
+                            .setCommentTimestamp(now)
+                            .build());
+            return CommentOnVideoResponse.getDefaultInstance();
+        });
+    }
+
+    @Override
+    public void getUserComments(GetUserCommentsRequest request, StreamObserver<GetUserCommentsResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            final Page<UserComment> page = Page.of(listing(commentsByUser.get(request.getUserId().getValue())),
+                    request.getPageSize(), request.getPagingState());
+            return GetUserCommentsResponse.newBuilder()
+                    .setUserId(request.getUserId())
+                    .addAllComments(page.items)
+                    .setPagingState(page.pagingState)
+                    .build();
+        });
+    }
+
+    @Override
+    public void getVideoComments(GetVideoCommentsRequest request, StreamObserver<GetVideoCommentsResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            final Page<VideoComment> page = Page.of(listing(commentsByVideo.get(request.getVideoId().getValue())),
+                    request.getPageSize(), request.getPagingState());
+            return GetVideoCommentsResponse.newBuilder()
+                    .setVideoId(request.getVideoId())
+                    .addAllComments(page.items)
+                    .setPagingState(page.pagingState)
+                    .build();
+        });
+    }
+
+    private static <T> Stream<T> listing(Deque<T> comments) {
+        return comments == null ? Stream.empty() : comments.stream();
+    }
+}
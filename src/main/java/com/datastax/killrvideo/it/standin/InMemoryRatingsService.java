@@ -0,0 +1,63 @@
+package com.datastax.killrvideo.it.standin;
+
+import static com.datastax.killrvideo.it.standin.StandInServer.respond;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.grpc.stub.StreamObserver;
+import killrvideo.ratings.RatingsServiceGrpc.AbstractRatingsService;
+import killrvideo.ratings.RatingsServiceOuterClass.*;
+
+/**
+ * Rating counters and user ratings kept in memory. As with the counter tables of KillrVideoServer,
+ * rating the same video twice counts twice
+ */
+class InMemoryRatingsService extends AbstractRatingsService {
+
+    private final ConcurrentMap<String, Rating> ratingsByVideo = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Integer> userRatings = new ConcurrentHashMap<>();
+
+    @Override
+    public void rateVideo(RateVideoRequest request, StreamObserver<RateVideoResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            final Rating rating = ratingsByVideo.computeIfAbsent(request.getVideoId().getValue(), x -> new Rating());
+            rating.count.increment();
+            rating.total.add(request.getRating());
+            userRatings.put(userRatingKey(request.getVideoId().getValue(), request.getUserId().getValue()), request.getRating());
+            return RateVideoResponse.getDefaultInstance();
+        });
+    }
+
+    @Override
+    public void getRating(GetRatingRequest request, StreamObserver<GetRatingResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            final GetRatingResponse.Builder builder = GetRatingResponse.newBuilder().setVideoId(request.getVideoId());
+            final Rating rating = ratingsByVideo.get(request.getVideoId().getValue());
+            if (rating != null) {
+                builder.setRatingsCount(rating.count.sum()).setRatingsTotal(rating.total.sum());
+            }
+            return builder.build();
+        });
+    }
+
+    @Override
+    public void getUserRating(GetUserRatingRequest request, StreamObserver<GetUserRatingResponse> responseObserver) {
+        respond(responseObserver, () -> GetUserRatingResponse.newBuilder()
+                .setVideoId(request.getVideoId())
+                .setUserId(request.getUserId())
+                .setRating(userRatings.getOrDefault(
+                        userRatingKey(request.getVideoId().getValue(), request.getUserId().getValue()), 0))
+                .build());
+    }
+
+    private static String userRatingKey(String videoId, String userId) {
+        return videoId + ":" + userId;
+    }
+
+    private static class Rating {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+    }
+}
@@ -0,0 +1,43 @@
+package com.datastax.killrvideo.it.standin;
+
+import static com.datastax.killrvideo.it.standin.StandInServer.respond;
+
+import io.grpc.stub.StreamObserver;
+import killrvideo.sample_data.SampleDataServiceGrpc.AbstractSampleDataService;
+import killrvideo.sample_data.SampleDataServiceOuterClass.*;
+
+/**
+ * Accepts every sample data request without generating anything, only the cost of the round trip is measured
+ */
+class InMemorySampleDataService extends AbstractSampleDataService {
+
+    @Override
+    public void addSampleComments(AddSampleCommentsRequest request, StreamObserver<AddSampleCommentsResponse> responseObserver) {
+        respond(responseObserver, AddSampleCommentsResponse::getDefaultInstance);
+    }
+
+    @Override
+    public void addSampleRatings(AddSampleRatingsRequest request, StreamObserver<AddSampleRatingsResponse> responseObserver) {
+        respond(responseObserver, AddSampleRatingsResponse::getDefaultInstance);
+    }
+
+    @Override
+    public void addSampleUsers(AddSampleUsersRequest request, StreamObserver<AddSampleUsersResponse> responseObserver) {
+        respond(responseObserver, AddSampleUsersResponse::getDefaultInstance);
+    }
+
+    @Override
+    public void addSampleVideoViews(AddSampleVideoViewsRequest request, StreamObserver<AddSampleVideoViewsResponse> responseObserver) {
+        respond(responseObserver, AddSampleVideoViewsResponse::getDefaultInstance);
+    }
+
+    @Override
+    public void addSampleYouTubeVideos(AddSampleYouTubeVideosRequest request, StreamObserver<AddSampleYouTubeVideosResponse> responseObserver) {
+        respond(responseObserver, AddSampleYouTubeVideosResponse::getDefaultInstance);
+    }
+
+    @Override
+    public void refreshYouTubeSources(RefreshYouTubeSourcesRequest request, StreamObserver<RefreshYouTubeSourcesResponse> responseObserver) {
+        respond(responseObserver, RefreshYouTubeSourcesResponse::getDefaultInstance);
+    }
+}
@@ -0,0 +1,70 @@
+package com.datastax.killrvideo.it.standin;
+
+import static com.datastax.killrvideo.it.standin.StandInServer.respond;
+import static java.util.stream.Collectors.toList;
+
+import java.util.Locale;
+
+import io.grpc.stub.StreamObserver;
+import killrvideo.search.SearchServiceGrpc.AbstractSearchService;
+import killrvideo.search.SearchServiceOuterClass.*;
+import killrvideo.video_catalog.VideoCatalogServiceOuterClass.GetVideoResponse;
+import killrvideo.video_catalog.VideoCatalogServiceOuterClass.VideoPreview;
+
+/**
+ * Full scan of the in-memory video catalog, latest first: a video matches when one of its tags
+ * equals the query or when its name contains it, ignoring case. Query suggestions are the tags starting with the query
+ */
+class InMemorySearchService extends AbstractSearchService {
+
+    private final InMemoryVideoCatalogService catalog;
+
+    InMemorySearchService(InMemoryVideoCatalogService catalog) {
+        this.catalog = catalog;
+    }
+
+    @Override
+    public void searchVideos(SearchVideosRequest request, StreamObserver<SearchVideosResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            final String query = request.getQuery().toLowerCase(Locale.ROOT);
+            final Page<GetVideoResponse> page = Page.of(catalog.latestVideos().filter(x -> matches(x, query)),
+                    request.getPageSize(), request.getPagingState());
+            final SearchVideosResponse.Builder builder = SearchVideosResponse.newBuilder()
+                    .setQuery(request.getQuery())
+                    .setPagingState(page.pagingState);
+            page.items.forEach(x -> builder.addVideos(toSearchResult(catalog.findPreview(x.getVideoId().getValue()))));
+            return builder.build();
+        });
+    }
+
+    @Override
+    public void getQuerySuggestions(GetQuerySuggestionsRequest request, StreamObserver<GetQuerySuggestionsResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            final String query = request.getQuery().toLowerCase(Locale.ROOT);
+            return GetQuerySuggestionsResponse.newBuilder()
+                    .setQuery(request.getQuery())
+                    .addAllSuggestions(catalog.latestVideos()
+                            .flatMap(x -> x.getTagsList().stream())
+                            .filter(x -> x.toLowerCase(Locale.ROOT).startsWith(query))
+                            .distinct()
+                            .limit(Math.max(request.getPageSize(), 0))
+                            .collect(toList()))
+                    .build();
+        });
+    }
+
+    private static boolean matches(GetVideoResponse video, String query) {
+        return video.getName().toLowerCase(Locale.ROOT).contains(query)
+                || video.getTagsList().stream().anyMatch(x -> x.equalsIgnoreCase(query));
+    }
+
+    private static SearchResultsVideoPreview toSearchResult(VideoPreview preview) {
+        return SearchResultsVideoPreview.newBuilder()
+                .setVideoId(preview.getVideoId())
+                .setUserId(preview.getUserId())
+                .setName(preview.getName())
+                .setAddedDate(preview.getAddedDate())
+                .setPreviewImageLocation(preview.getPreviewImageLocation())
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.datastax.killrvideo.it.standin;
+
+import static com.datastax.killrvideo.it.standin.StandInServer.respond;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.grpc.stub.StreamObserver;
+import killrvideo.statistics.StatisticsServiceGrpc.AbstractStatisticsService;
+import killrvideo.statistics.StatisticsServiceOuterClass.*;
+
+/**
+ * Play counters kept in memory
+ */
+class InMemoryStatisticsService extends AbstractStatisticsService {
+
+    private final ConcurrentMap<String, LongAdder> viewsByVideo = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordPlaybackStarted(RecordPlaybackStartedRequest request, StreamObserver<RecordPlaybackStartedResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            viewsByVideo.computeIfAbsent(request.getVideoId().getValue(), x -> new LongAdder()).increment();
+            return RecordPlaybackStartedResponse.getDefaultInstance();
+        });
+    }
+
+    @Override
+    public void getNumberOfPlays(GetNumberOfPlaysRequest request, StreamObserver<GetNumberOfPlaysResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            final GetNumberOfPlaysResponse.Builder builder = GetNumberOfPlaysResponse.newBuilder();
+            request.getVideoIdsList().forEach(x -> {
+                final LongAdder views = viewsByVideo.get(x.getValue());
+                builder.addStats(PlayStats.newBuilder()
+                        .setVideoId(x)
+                        .setViews(views == null ? 0L : views.sum()));
+            });
+            return builder.build();
+        });
+    }
+}
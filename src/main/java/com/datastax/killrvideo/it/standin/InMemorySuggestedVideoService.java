@@ -0,0 +1,72 @@
+package com.datastax.killrvideo.it.standin;
+
+import static com.datastax.killrvideo.it.standin.StandInServer.respond;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import io.grpc.stub.StreamObserver;
+import killrvideo.suggested_videos.SuggestedVideoServiceGrpc.AbstractSuggestedVideoService;
+import killrvideo.suggested_videos.SuggestedVideosService.*;
+import killrvideo.video_catalog.VideoCatalogServiceOuterClass.GetVideoResponse;
+import killrvideo.video_catalog.VideoCatalogServiceOuterClass.VideoPreview;
+
+/**
+ * Related videos are the videos sharing a tag with the given one, latest first.
+ * Suggestions for a user are the latest videos of other users
+ */
+class InMemorySuggestedVideoService extends AbstractSuggestedVideoService {
+
+    private final InMemoryVideoCatalogService catalog;
+
+    InMemorySuggestedVideoService(InMemoryVideoCatalogService catalog) {
+        this.catalog = catalog;
+    }
+
+    @Override
+    public void getRelatedVideos(GetRelatedVideosRequest request, StreamObserver<GetRelatedVideosResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            final String videoId = request.getVideoId().getValue();
+            final GetVideoResponse video = catalog.findVideo(videoId);
+            final Stream<GetVideoResponse> related = video == null
+                    ? Stream.empty()
+                    : catalog.latestVideos().filter(x -> !x.getVideoId().getValue().equals(videoId)
+                            && sharesTag(x.getTagsList(), video.getTagsList()));
+            final Page<GetVideoResponse> page = Page.of(related, request.getPageSize(), request.getPagingState());
+            final GetRelatedVideosResponse.Builder builder = GetRelatedVideosResponse.newBuilder()
+                    .setVideoId(request.getVideoId())
+                    .setPagingState(page.pagingState);
+            page.items.forEach(x -> builder.addVideos(toSuggestion(catalog.findPreview(x.getVideoId().getValue()))));
+            return builder.build();
+        });
+    }
+
+    @Override
+    public void getSuggestedForUser(GetSuggestedForUserRequest request, StreamObserver<GetSuggestedForUserResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            final String userId = request.getUserId().getValue();
+            final Page<GetVideoResponse> page = Page.of(
+                    catalog.latestVideos().filter(x -> !x.getUserId().getValue().equals(userId)),
+                    request.getPageSize(), request.getPagingState());
+            final GetSuggestedForUserResponse.Builder builder = GetSuggestedForUserResponse.newBuilder()
+                    .setUserId(request.getUserId())
+                    .setPagingState(page.pagingState);
+            page.items.forEach(x -> builder.addVideos(toSuggestion(catalog.findPreview(x.getVideoId().getValue()))));
+            return builder.build();
+        });
+    }
+
+    private static boolean sharesTag(List<String> tags, List<String> otherTags) {
+        return tags.stream().anyMatch(otherTags::contains);
+    }
+
+    private static SuggestedVideoPreview toSuggestion(VideoPreview preview) {
+        return SuggestedVideoPreview.newBuilder()
+                .setVideoId(preview.getVideoId())
+                .setUserId(preview.getUserId())
+                .setName(preview.getName())
+                .setAddedDate(preview.getAddedDate())
+                .setPreviewImageLocation(preview.getPreviewImageLocation())
+                .build();
+    }
+}
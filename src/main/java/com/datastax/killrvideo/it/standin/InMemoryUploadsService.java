@@ -0,0 +1,40 @@
+package com.datastax.killrvideo.it.standin;
+
+import static com.datastax.killrvideo.it.standin.StandInServer.respond;
+
+import java.time.Instant;
+
+import com.datastax.killrvideo.it.util.TypeConverter;
+
+import io.grpc.stub.StreamObserver;
+import killrvideo.uploads.UploadsServiceGrpc.AbstractUploadsService;
+import killrvideo.uploads.UploadsServiceOuterClass.*;
+
+/**
+ * Nothing is uploaded nor encoded: destinations are fake URLs and every video waits for its upload forever
+ */
+class InMemoryUploadsService extends AbstractUploadsService {
+
+    private static final String UPLOAD_URL_PREFIX = "memory://killrvideo/uploads/";
+    private static final String WAITING_FOR_UPLOAD = "WAITING";
+
+    @Override
+    public void getUploadDestination(GetUploadDestinationRequest request, StreamObserver<GetUploadDestinationResponse> responseObserver) {
+        respond(responseObserver, () -> GetUploadDestinationResponse.newBuilder()
+                .setUploadUrl(UPLOAD_URL_PREFIX + request.getFileName())
+                .build());
+    }
+
+    @Override
+    public void markUploadComplete(MarkUploadCompleteRequest request, StreamObserver<MarkUploadCompleteResponse> responseObserver) {
+        respond(responseObserver, MarkUploadCompleteResponse::getDefaultInstance);
+    }
+
+    @Override
+    public void getStatusOfVideo(GetStatusOfVideoRequest request, StreamObserver<GetStatusOfVideoResponse> responseObserver) {
+        respond(responseObserver, () -> GetStatusOfVideoResponse.newBuilder()
+                .setStatusDate(TypeConverter.instantToTimeStamp(Instant.now()))
+                .setCurrentState(WAITING_FOR_UPLOAD)
+                .build());
+    }
+}
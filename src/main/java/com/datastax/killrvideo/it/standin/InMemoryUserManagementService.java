@@ -0,0 +1,68 @@
+package com.datastax.killrvideo.it.standin;
+
+import static com.datastax.killrvideo.it.standin.StandInServer.respond;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import killrvideo.user_management.UserManagementServiceGrpc.AbstractUserManagementService;
+import killrvideo.user_management.UserManagementServiceOuterClass.*;
+
+/**
+ * Users kept in memory. As with the lightweight transaction of KillrVideoServer,
+ * only the first of concurrent sign-ups with the same email is accepted
+ */
+class InMemoryUserManagementService extends AbstractUserManagementService {
+
+    private final ConcurrentMap<String, CreateUserRequest> usersByEmail = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, UserProfile> profiles = new ConcurrentHashMap<>();
+
+    @Override
+    public void createUser(CreateUserRequest request, StreamObserver<CreateUserResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            if (usersByEmail.putIfAbsent(request.getEmail(), request) != null) {
+                throw Status.INVALID_ARGUMENT
+                        .withDescription("Exception creating user because it already exists")
+                        .asRuntimeException();
+            }
+            profiles.put(request.getUserId().getValue(), UserProfile.newBuilder()
+                    .setUserId(request.getUserId())
+                    .setFirstName(request.getFirstName())
+                    .setLastName(request.getLastName())
+                    .setEmail(request.getEmail())
+                    .build());
+            return CreateUserResponse.getDefaultInstance();
+        });
+    }
+
+    @Override
+    public void verifyCredentials(VerifyCredentialsRequest request, StreamObserver<VerifyCredentialsResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            final CreateUserRequest user = usersByEmail.get(request.getEmail());
+            if (user == null || !user.getPassword().equals(request.getPassword())) {
+                throw Status.INVALID_ARGUMENT
+                        .withDescription("Email address or password are not correct")
+                        .asRuntimeException();
+            }
+            return VerifyCredentialsResponse.newBuilder()
+                    .setUserId(user.getUserId())
+                    .build();
+        });
+    }
+
+    @Override
+    public void getUserProfile(GetUserProfileRequest request, StreamObserver<GetUserProfileResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            final GetUserProfileResponse.Builder builder = GetUserProfileResponse.newBuilder();
+            request.getUserIdsList()
+                    .stream()
+                    .map(x -> profiles.get(x.getValue()))
+                    .filter(Objects::nonNull)
+                    .forEach(builder::addProfiles);
+            return builder.build();
+        });
+    }
+}
@@ -0,0 +1,152 @@
+package com.datastax.killrvideo.it.standin;
+
+import static com.datastax.killrvideo.it.standin.StandInServer.respond;
+import static java.lang.String.format;
+
+import java.time.Instant;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import com.datastax.killrvideo.it.util.TypeConverter;
+
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import killrvideo.video_catalog.VideoCatalogServiceGrpc.AbstractVideoCatalogService;
+import killrvideo.video_catalog.VideoCatalogServiceOuterClass.*;
+
+/**
+ * Videos kept in memory, latest first. Also the video store of the search and suggested videos stand-ins
+ */
+class InMemoryVideoCatalogService extends AbstractVideoCatalogService {
+
+    private final ConcurrentMap<String, GetVideoResponse> videos = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, VideoPreview> previews = new ConcurrentHashMap<>();
+    private final Deque<VideoPreview> latestVideos = new ConcurrentLinkedDeque<>();
+    private final ConcurrentMap<String, Deque<VideoPreview>> videosByUser = new ConcurrentHashMap<>();
+
+    @Override
+    public void submitUploadedVideo(SubmitUploadedVideoRequest request, StreamObserver<SubmitUploadedVideoResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            add(GetVideoResponse.newBuilder()
+                    .setVideoId(request.getVideoId())
+                    .setUserId(request.getUserId())
+                    .setName(request.getName())
+                    .setDescription(request.getDescription())
+                    .addAllTags(request.getTagsList())
+                    .setLocation(request.getUploadUrl())
+                    .setLocationType(VideoLocationType.UPLOAD)
+                    .setAddedDate(TypeConverter.instantToTimeStamp(Instant.now()))
+                    .build(), "");
+            return SubmitUploadedVideoResponse.getDefaultInstance();
+        });
+    }
+
+    @Override
+    public void submitYouTubeVideo(SubmitYouTubeVideoRequest request, StreamObserver<SubmitYouTubeVideoResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            add(GetVideoResponse.newBuilder()
+                    .setVideoId(request.getVideoId())
+                    .setUserId(request.getUserId())
+                    .setName(request.getName())
+                    .setDescription(request.getDescription())
+                    .addAllTags(request.getTagsList())
+                    .setLocation(request.getYouTubeVideoId())
+                    .setLocationType(VideoLocationType.YOUTUBE)
+                    .setAddedDate(TypeConverter.instantToTimeStamp(Instant.now()))
+                    .build(), "//img.youtube.com/vi/" + request.getYouTubeVideoId() + "/hqdefault.jpg");
+            return SubmitYouTubeVideoResponse.getDefaultInstance();
+        });
+    }
+
+    @Override
+    public void getVideo(GetVideoRequest request, StreamObserver<GetVideoResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            final GetVideoResponse video = videos.get(request.getVideoId().getValue());
+            if (video == null) {
+                throw Status.NOT_FOUND
+                        .withDescription(format("Cannot find video with id %s", request.getVideoId().getValue()))
+                        .asRuntimeException();
+            }
+            return video;
+        });
+    }
+
+    @Override
+    public void getVideoPreviews(GetVideoPreviewsRequest request, StreamObserver<GetVideoPreviewsResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            final GetVideoPreviewsResponse.Builder builder = GetVideoPreviewsResponse.newBuilder();
+            request.getVideoIdsList()
+                    .stream()
+                    .map(x -> previews.get(x.getValue()))
+                    .filter(Objects::nonNull)
+                    .forEach(builder::addVideoPreviews);
+            return builder.build();
+        });
+    }
+
+    @Override
+    public void getLatestVideoPreviews(GetLatestVideoPreviewsRequest request, StreamObserver<GetLatestVideoPreviewsResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            final Page<VideoPreview> page = Page.of(latestVideos.stream(), request.getPageSize(), request.getPagingState());
+            return GetLatestVideoPreviewsResponse.newBuilder()
+                    .addAllVideoPreviews(page.items)
+                    .setPagingState(page.pagingState)
+                    .build();
+        });
+    }
+
+    @Override
+    public void getUserVideoPreviews(GetUserVideoPreviewsRequest request, StreamObserver<GetUserVideoPreviewsResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            final Deque<VideoPreview> userVideos = videosByUser.get(request.getUserId().getValue());
+            final Page<VideoPreview> page = Page.of(userVideos == null ? Stream.empty() : userVideos.stream(),
+                    request.getPageSize(), request.getPagingState());
+            return GetUserVideoPreviewsResponse.newBuilder()
+                    .setUserId(request.getUserId())
+                    .addAllVideoPreviews(page.items)
+                    .setPagingState(page.pagingState)
+                    .build();
+        });
+    }
+
+    /**
+     * Every video, latest first
+     */
+    Stream<GetVideoResponse> latestVideos() {
+        return latestVideos.stream().map(x -> videos.get(x.getVideoId().getValue()));
+    }
+
+    GetVideoResponse findVideo(String videoId) {
+        return videos.get(videoId);
+    }
+
+    VideoPreview findPreview(String videoId) {
+        return previews.get(videoId);
+    }
+
+    private void add(GetVideoResponse video, String previewImageLocation) {
+        if (videos.putIfAbsent(video.getVideoId().getValue(), video) != null) {
+            throw Status.ALREADY_EXISTS
+                    .withDescription(format("Video with id %s already exists", video.getVideoId().getValue()))
+                    .asRuntimeException();
+        }
+        final VideoPreview preview = toPreview(video, previewImageLocation);
+        previews.put(video.getVideoId().getValue(), preview);
+        latestVideos.addFirst(preview);
+        videosByUser.computeIfAbsent(video.getUserId().getValue(), x -> new ConcurrentLinkedDeque<>()).addFirst(preview);
+    }
+
+    private static VideoPreview toPreview(GetVideoResponse video, String previewImageLocation) {
+        return VideoPreview.newBuilder()
+                .setVideoId(video.getVideoId())
+                .setUserId(video.getUserId())
+                .setName(video.getName())
+                .setAddedDate(video.getAddedDate())
+                .setPreviewImageLocation(previewImageLocation)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.datastax.killrvideo.it.standin;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import io.grpc.Status;
+
+/**
+ * One page of a stand-in listing. The paging state is the offset of the next page,
+ * empty when the listing is exhausted
+ */
+class Page<T> {
+
+    final List<T> items;
+    final String pagingState;
+
+    private Page(List<T> items, String pagingState) {
+        this.items = items;
+        this.pagingState = pagingState;
+    }
+
+    /**
+     * Page of the given listing, only the items of the page and the next one are consumed
+     */
+    static <T> Page<T> of(Stream<T> listing, int pageSize, String pagingState) {
+        if (pageSize <= 0) {
+            throw Status.INVALID_ARGUMENT
+                    .withDescription(format("Page size should be strictly positive, got %d", pageSize))
+                    .asRuntimeException();
+        }
+        final int offset = offset(pagingState);
+        final List<T> items = listing.skip(offset).limit(pageSize + 1L).collect(toList());
+        if (items.size() <= pageSize) {
+            return new Page<>(items, "");
+        }
+        return new Page<>(items.subList(0, pageSize), String.valueOf(offset + pageSize));
+    }
+
+    private static int offset(String pagingState) {
+        if (pagingState.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(pagingState);
+        } catch (NumberFormatException e) {
+            throw Status.INVALID_ARGUMENT
+                    .withDescription(format("Invalid paging state '%s'", pagingState))
+                    .asRuntimeException();
+        }
+    }
+}
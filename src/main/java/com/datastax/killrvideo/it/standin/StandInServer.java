@@ -0,0 +1,112 @@
+package com.datastax.killrvideo.it.standin;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * When <em>killrvideo.grpc.in.process</em> is true, stands in for KillrVideoServer: every KillrVideo service
+ * is implemented in memory and served on gRPC's in-process transport, so requests are neither serialized
+ * on a socket nor stored in Cassandra. Load scenarios run against it measure the cost of the harness itself.
+ * <br/>
+ * The stand-in keeps just enough state to answer consistently, it is not a reference implementation of KillrVideo
+ */
+@Component
+public class StandInServer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StandInServer.class);
+
+    private static final String SERVER_NAME = "killrvideo-stand-in";
+    private static final long SHUTDOWN_TIMEOUT_IN_SECONDS = 5;
+
+    @Inject
+    private KillrVideoProperties properties;
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.grpcInProcess) {
+            return;
+        }
+        final InMemoryVideoCatalogService catalog = new InMemoryVideoCatalogService();
+        server = InProcessServerBuilder
+                .forName(SERVER_NAME)
+                .directExecutor()
+                .addService(new InMemoryUserManagementService())
+                .addService(catalog)
+                .addService(new InMemoryCommentsService())
+                .addService(new InMemoryRatingsService())
+                .addService(new InMemoryStatisticsService())
+                .addService(new InMemorySearchService(catalog))
+                .addService(new InMemorySuggestedVideoService(catalog))
+                .addService(new InMemoryUploadsService())
+                .addService(new InMemorySampleDataService())
+                .build()
+                .start();
+        channel = InProcessChannelBuilder
+                .forName(SERVER_NAME)
+                .build();
+        LOGGER.info(format("In-process KillrVideo stand-in started as '%s'", SERVER_NAME));
+    }
+
+    /**
+     * Channel to the stand-in, shared by every service
+     */
+    public ManagedChannel getChannel() {
+        if (channel == null) {
+            throw new IllegalStateException(format("The in-process KillrVideo stand-in is disabled, set %s=true to enable it",
+                    KillrVideoProperties.GRPC_IN_PROCESS));
+        }
+        return channel;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (server == null) {
+            return;
+        }
+        channel.shutdown();
+        server.shutdown();
+        if (!channel.awaitTermination(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+            channel.shutdownNow();
+        }
+        if (!server.awaitTermination(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+            server.shutdownNow();
+        }
+    }
+
+    /**
+     * Complete the call with the built response, or fail it with the status thrown while building it
+     */
+    static <ResponseT> void respond(StreamObserver<ResponseT> responseObserver, Supplier<ResponseT> response) {
+        final ResponseT value;
+        try {
+            value = response.get();
+        } catch (StatusRuntimeException e) {
+            responseObserver.onError(e);
+            return;
+        }
+        responseObserver.onNext(value);
+        responseObserver.onCompleted();
+    }
+}
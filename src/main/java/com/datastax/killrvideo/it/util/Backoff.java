@@ -0,0 +1,57 @@
+package com.datastax.killrvideo.it.util;
+
+import static java.lang.String.format;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jittered exponential backoff bounded by an overall deadline.
+ * Each delay is drawn uniformly between half and all of the current exponential step
+ * so that concurrent waiters do not retry in lock-step
+ */
+public class Backoff {
+
+    private final long initialDelayInMillis;
+    private final long maxDelayInMillis;
+    private final long deadlineInNanos;
+    private int attempts;
+
+    public Backoff(long initialDelayInMillis, long maxDelayInMillis, long timeoutInSeconds) {
+        if (initialDelayInMillis <= 0 || maxDelayInMillis < initialDelayInMillis) {
+            throw new IllegalArgumentException(format("Invalid backoff bounds [%s, %s] ms",
+                    initialDelayInMillis, maxDelayInMillis));
+        }
+        this.initialDelayInMillis = initialDelayInMillis;
+        this.maxDelayInMillis = maxDelayInMillis;
+        this.deadlineInNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutInSeconds);
+    }
+
+    public long nextDelayInMillis() {
+        final long step = Math.min(maxDelayInMillis, initialDelayInMillis << Math.min(attempts++, 30));
+        final long delay = ThreadLocalRandom.current().nextLong(step / 2, step + 1);
+        return Math.max(0, Math.min(delay, getRemainingInMillis()));
+    }
+
+    public long getRemainingInMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineInNanos - System.nanoTime());
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Sleep for the next delay, or fail when the deadline has passed
+     */
+    public void pause(String waitingFor) throws InterruptedException {
+        ensureNotExpired(waitingFor);
+        Thread.sleep(nextDelayInMillis());
+    }
+
+    public void ensureNotExpired(String waitingFor) {
+        if (getRemainingInMillis() <= 0) {
+            throw new IllegalStateException(format("Gave up waiting for %s after %s attempts", waitingFor, attempts));
+        }
+    }
+}
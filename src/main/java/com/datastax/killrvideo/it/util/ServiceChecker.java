@@ -1,25 +1,157 @@
 package com.datastax.killrvideo.it.util;
 
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 
 import java.io.IOException;
 import java.net.*;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.killrvideo.it.grpc.ByteArrayMarshaller;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.xqbase.etcd4j.EtcdClient;
+import com.xqbase.etcd4j.EtcdNode;
+import com.xqbase.etcd4j.EtcdResult;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCalls;
 
 public class ServiceChecker {
 
-    public static void waitForService(String service, String address, int port, int waitTimeInSec) throws Exception {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServiceChecker.class);
+
+    private static final int CONNECT_TIMEOUT_IN_MILLIS = 1000;
+    private static final int HEALTH_CHECK_TIMEOUT_IN_MILLIS = 1000;
 
-        System.out.println(format("Attempting to connect to service %s on %s:%s", service, address, port));
+    /**
+     * Standard grpc.health.v1.Health/Check, called with raw bytes so that the generated health stubs are not needed.
+     * An empty request asks for the overall server health
+     */
+    private static final MethodDescriptor<byte[], byte[]> HEALTH_CHECK = MethodDescriptor.create(
+            MethodDescriptor.MethodType.UNARY, "grpc.health.v1.Health/Check", ByteArrayMarshaller.INSTANCE, ByteArrayMarshaller.INSTANCE);
+    private static final byte[] HEALTH_CHECK_SERVING = {0x08, 0x01};
+
+    /**
+     * Wait until a plain TCP connection to address:port succeeds, for services that do not speak gRPC
+     */
+    public static void waitForService(String service, String address, int port, Backoff backoff) throws InterruptedException {
+        LOGGER.info(format("Attempting to connect to service %s on %s:%s", service, address, port));
+        while (!isServiceAccessible(service, address, port)) {
+            backoff.pause(service);
+        }
+    }
 
+    /**
+     * Wait until the key is registered in etcd and return its value.
+     * Between lookups an etcd watch on the key is held for at most the next backoff delay,
+     * so a registration wakes the waiter up immediately and a missed event costs one backoff step
+     */
+    public static String waitForRegistration(EtcdClient etcdClient, String key, Backoff backoff) throws InterruptedException {
         while (true) {
-            if (isServiceAccessible(service, address, port)) {
-                return;
-            } else {
-                System.out.println(format("Waiting %s secs for %s to start", waitTimeInSec, service));
-                Thread.sleep(waitTimeInSec * 1000);
+            final String value = lookup(etcdClient, key);
+            if (value != null) {
+                return value;
+            }
+            backoff.ensureNotExpired(format("registration of %s in etcd", key));
+            LOGGER.info(format("Waiting for %s to be registered in etcd", key));
+            final ListenableFuture<EtcdResult> watch = etcdClient.watch(key);
+            try {
+                watch.get(backoff.nextDelayInMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                watch.cancel(true);
+            } catch (ExecutionException e) {
+                LOGGER.debug(format("Watch on %s failed, falling back to backoff", key), e.getCause());
+                Thread.sleep(backoff.nextDelayInMillis());
+            }
+        }
+    }
+
+    /**
+     * Wait until at least one instance of the application is registered under the etcd directory and return
+     * all their distinct values, watching the directory recursively between listings
+     */
+    public static List<String> waitForInstances(EtcdClient etcdClient, String directory, String applicationName,
+                                                Backoff backoff) throws InterruptedException {
+        while (true) {
+            final List<String> values = listInstances(etcdClient, directory, applicationName);
+            if (!values.isEmpty()) {
+                return values;
+            }
+            backoff.ensureNotExpired(format("instances of %s registered under %s in etcd", applicationName, directory));
+            LOGGER.info(format("Waiting for instances of %s to be registered under %s in etcd", applicationName, directory));
+            final ListenableFuture<EtcdResult> watch = etcdClient.watch(directory, null, true);
+            try {
+                watch.get(backoff.nextDelayInMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                watch.cancel(true);
+            } catch (ExecutionException e) {
+                LOGGER.debug(format("Watch on %s failed, falling back to backoff", directory), e.getCause());
+                Thread.sleep(backoff.nextDelayInMillis());
+            }
+        }
+    }
+
+    /**
+     * Distinct values of the keys named &lt;applicationName&gt;:&lt;instanceId&gt; under the etcd directory,
+     * other applications registering the same services are left out. Empty when etcd cannot be listed
+     */
+    public static List<String> listInstances(EtcdClient etcdClient, String directory, String applicationName) {
+        final String instancePrefix = applicationName + ":";
+        try {
+            final List<EtcdNode> nodes = etcdClient.listDir(directory);
+            if (nodes == null) {
+                return Collections.emptyList();
+            }
+            return nodes.stream()
+                    .filter(x -> !x.dir && x.value != null && x.key != null)
+                    .filter(x -> x.key.substring(x.key.lastIndexOf('/') + 1).startsWith(instancePrefix))
+                    .map(x -> x.value)
+                    .distinct()
+                    .collect(toList());
+        } catch (Exception e) {
+            LOGGER.debug(format("Cannot list %s in etcd", directory), e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Wait until the gRPC server behind the channel answers a health check
+     */
+    public static void waitForGrpcService(String service, Channel channel, Backoff backoff) throws InterruptedException {
+        while (!isGrpcServiceReady(service, channel)) {
+            backoff.pause(service);
+        }
+        LOGGER.info(format("Service %s is ready after %s attempts", service, backoff.getAttempts() + 1));
+    }
+
+    /**
+     * A server answering UNIMPLEMENTED does not host the health service but is up and serving requests
+     */
+    public static boolean isGrpcServiceReady(String service, Channel channel) {
+        try {
+            final byte[] response = ClientCalls.blockingUnaryCall(channel, HEALTH_CHECK,
+                    CallOptions.DEFAULT.withDeadlineAfter(HEALTH_CHECK_TIMEOUT_IN_MILLIS, TimeUnit.MILLISECONDS),
+                    new byte[0]);
+            return Arrays.equals(HEALTH_CHECK_SERVING, response);
+        } catch (StatusRuntimeException e) {
+            final Status.Code code = e.getStatus().getCode();
+            if (code == Status.Code.UNAVAILABLE || code == Status.Code.DEADLINE_EXCEEDED) {
+                LOGGER.debug(format("Service %s is not ready yet: %s", service, e.getStatus()));
+                return false;
             }
+            return true;
         }
     }
 
@@ -28,35 +160,28 @@ public class ServiceChecker {
         if (hostAndPort != null) {
             HostAndPortSplitter.ensureValidFormat(hostAndPort,
                     format("The %s is not a valid host:port format", hostAndPort));
-
-            final String address = HostAndPortSplitter.extractAddress(hostAndPort);
-            final int port = HostAndPortSplitter.extractPort(hostAndPort);
-            return isServiceAccessible(grpcServiceName, address, port);
+            return true;
         } else {
             return false;
         }
     }
 
-    private static boolean isServiceAccessible(String service, String address, int port) throws Exception {
-        Socket s = null;
+    private static String lookup(EtcdClient etcdClient, String key) {
         try {
-            s = new Socket(address, port);
-            s.setReuseAddress(true);
-            System.out.println(format("Connection to %s:%s is working for service %s", address, port, service));
-            try {
-                s.close();
-            } catch (IOException e) {
-
-            }
+            return etcdClient.get(key);
+        } catch (Exception e) {
+            LOGGER.debug(format("Cannot look up %s in etcd", key), e);
+            return null;
+        }
+    }
 
+    private static boolean isServiceAccessible(String service, String address, int port) {
+        try (Socket s = new Socket()) {
+            s.setReuseAddress(true);
+            s.connect(new InetSocketAddress(address, port), CONNECT_TIMEOUT_IN_MILLIS);
+            LOGGER.info(format("Connection to %s:%s is working for service %s", address, port, service));
             return true;
-        } catch (Exception e) {
-            if (s != null) {
-                try {
-                    s.close();
-                } catch (IOException ex) {
-                }
-            }
+        } catch (IOException e) {
             return false;
         }
     }
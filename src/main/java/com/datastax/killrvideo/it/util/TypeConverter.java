@@ -9,27 +9,155 @@ import com.google.protobuf.Timestamp;
 import killrvideo.common.CommonTypes.TimeUuid;
 import killrvideo.common.CommonTypes.Uuid;
 
+/**
+ * Conversions between Java types and their protobuf counterparts.
+ * <br/>
+ * The same few user & video ids are converted over and over during load generation,
+ * so converted messages are interned in small direct-mapped caches. A cache hit
+ * returns the previously built (immutable) protobuf message without any allocation.
+ * Cache slots are published through final fields, a racy overwrite only costs a rebuild.
+ * Ids sent once, like the ids of created entities, are converted by {@link #newUuid(UUID)}
+ * and {@link #newTimeUuid(UUID)} instead, so that they do not evict the recurring ones.
+ */
 public class TypeConverter {
 
+    private static final int CACHE_SIZE = 4096;
+    private static final int CACHE_MASK = CACHE_SIZE - 1;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final CachedUuid[] UUIDS = new CachedUuid[CACHE_SIZE];
+    private static final CachedTimeUuid[] TIME_UUIDS = new CachedTimeUuid[CACHE_SIZE];
+    private static final CachedTimestamp[] TIMESTAMPS = new CachedTimestamp[CACHE_SIZE];
+
     public static Timestamp instantToTimeStamp(Instant instant) {
-        return Timestamp.newBuilder()
-                .setSeconds(instant.getEpochSecond())
-                .setNanos(instant.getNano()).build();
+        return toTimestamp(instant.getEpochSecond(), instant.getNano());
     }
 
     public static Timestamp dateToTimestamp(Date date) {
-        return instantToTimeStamp(date.toInstant());
+        final long millis = date.getTime();
+        return toTimestamp(Math.floorDiv(millis, 1000L), (int) Math.floorMod(millis, 1000L) * 1_000_000);
     }
 
     public static TimeUuid uuidToTimeUuid(UUID uuid) {
+        final int index = slot(uuid);
+        final CachedTimeUuid cached = TIME_UUIDS[index];
+        if (cached != null && cached.key.equals(uuid)) {
+            return cached.value;
+        }
+        final TimeUuid timeUuid = newTimeUuid(uuid);
+        TIME_UUIDS[index] = new CachedTimeUuid(uuid, timeUuid);
+        return timeUuid;
+    }
+
+    public static Uuid uuidToUuid(UUID uuid) {
+        final int index = slot(uuid);
+        final CachedUuid cached = UUIDS[index];
+        if (cached != null && cached.key.equals(uuid)) {
+            return cached.value;
+        }
+        final Uuid protoUuid = newUuid(uuid);
+        UUIDS[index] = new CachedUuid(uuid, protoUuid);
+        return protoUuid;
+    }
+
+    /**
+     * Conversion bypassing the cache, for an id sent once
+     */
+    public static TimeUuid newTimeUuid(UUID uuid) {
         return TimeUuid.newBuilder()
-                .setValue(uuid.toString())
+                .setValue(uuidToString(uuid))
                 .build();
     }
 
-    public static Uuid uuidToUuid(UUID uuid) {
+    /**
+     * Conversion bypassing the cache, for an id sent once
+     */
+    public static Uuid newUuid(UUID uuid) {
         return Uuid.newBuilder()
-                .setValue(uuid.toString())
+                .setValue(uuidToString(uuid))
                 .build();
     }
+
+    /**
+     * Same output as {@link UUID#toString()}, formatted straight into a single char array
+     */
+    public static String uuidToString(UUID uuid) {
+        final long msb = uuid.getMostSignificantBits();
+        final long lsb = uuid.getLeastSignificantBits();
+        final char[] chars = new char[36];
+        formatHex(msb >>> 32, chars, 0, 8);
+        chars[8] = '-';
+        formatHex(msb >>> 16, chars, 9, 4);
+        chars[13] = '-';
+        formatHex(msb, chars, 14, 4);
+        chars[18] = '-';
+        formatHex(lsb >>> 48, chars, 19, 4);
+        chars[23] = '-';
+        formatHex(lsb, chars, 24, 12);
+        return new String(chars);
+    }
+
+    private static Timestamp toTimestamp(long seconds, int nanos) {
+        final int index = (int) (mix(seconds) ^ nanos) & CACHE_MASK;
+        final CachedTimestamp cached = TIMESTAMPS[index];
+        if (cached != null && cached.seconds == seconds && cached.nanos == nanos) {
+            return cached.value;
+        }
+        final Timestamp timestamp = Timestamp.newBuilder()
+                .setSeconds(seconds)
+                .setNanos(nanos)
+                .build();
+        TIMESTAMPS[index] = new CachedTimestamp(seconds, nanos, timestamp);
+        return timestamp;
+    }
+
+    private static void formatHex(long value, char[] chars, int offset, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static int slot(UUID uuid) {
+        return (int) mix(uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits()) & CACHE_MASK;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static final class CachedUuid {
+        final UUID key;
+        final Uuid value;
+
+        CachedUuid(UUID key, Uuid value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final class CachedTimeUuid {
+        final UUID key;
+        final TimeUuid value;
+
+        CachedTimeUuid(UUID key, TimeUuid value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final class CachedTimestamp {
+        final long seconds;
+        final int nanos;
+        final Timestamp value;
+
+        CachedTimestamp(long seconds, int nanos, Timestamp value) {
+            this.seconds = seconds;
+            this.nanos = nanos;
+            this.value = value;
+        }
+    }
 }
@@ -6,22 +6,23 @@ import java.util.concurrent.ExecutorService;
 import javax.inject.Inject;
 
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.test.context.ContextConfiguration;
 
 import com.datastax.killrvideo.it.configuration.KillrVideoProperties;
 import com.datastax.killrvideo.it.dao.CassandraDao;
+import com.datastax.killrvideo.it.grpc.ChannelRegistry;
 import com.datastax.killrvideo.it.util.ServiceChecker;
 import com.xqbase.etcd4j.EtcdClient;
 
 import cucumber.api.PendingException;
-import io.grpc.ManagedChannel;
 
 @ContextConfiguration
 @SpringBootTest
 public abstract class AbstractSteps {
 
     @Inject
-    ManagedChannel managedChannel;
+    ChannelRegistry channels;
 
     @Inject
     CassandraDao dao;
@@ -33,17 +34,19 @@ public abstract class AbstractSteps {
     KillrVideoProperties properties;
 
     @Inject
+    @Lazy
     EtcdClient etcdClient;
 
+    @Inject
+    TestEntities entities;
+
     protected abstract String serviceName();
 
     protected void checkForService() {
-        final String grpcServiceUrl = "killrvideo/services/"
-                + serviceName()
-                + "/"
-                + properties.applicationName
-                + ":"
-                + properties.applicationInstanceId;
+        if (properties.grpcInProcess) {
+            return;
+        }
+        final String grpcServiceUrl = channels.serviceKey(serviceName());
 
         try {
             if (!ServiceChecker.isServicePresent(etcdClient, grpcServiceUrl)) {
@@ -1,8 +1,7 @@
 package com.datastax.killrvideo.it.service;
 
 import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.COMMENTS_SERVICE_NAME;
-import static com.datastax.killrvideo.it.service.UserManagementServiceSteps.USERS;
-import static com.datastax.killrvideo.it.service.VideoCatalogServiceSteps.VIDEOS;
+import static com.datastax.killrvideo.it.dao.CassandraDao.COMMENT_TABLES;
 import static com.datastax.killrvideo.it.service.VideoCatalogServiceSteps.cleanUpUserAndVideoTables;
 import static com.datastax.killrvideo.it.util.TypeConverter.uuidToTimeUuid;
 import static com.datastax.killrvideo.it.util.TypeConverter.uuidToUuid;
@@ -17,7 +16,6 @@ import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.utils.UUIDs;
 
-import cucumber.api.java.After;
 import cucumber.api.java.Before;
 import cucumber.api.java.en.And;
 import cucumber.api.java.en.Then;
@@ -47,32 +45,22 @@ public class CommentsServiceSteps extends AbstractSteps  {
             SHOULD_CHECK_SERVICE.getAndSet(null);
         });
 
-        commentStub = CommentsServiceGrpc.newBlockingStub(managedChannel);
+        commentStub = CommentsServiceGrpc.newBlockingStub(channels.get(serviceName()));
         LOGGER.info("Truncating users, videos & comments tables BEFORE executing tests");
-        cleanUpUserAndVideoTables(dao);
-        dao.truncate("comments_by_video");
-        dao.truncate("comments_by_user");
+        cleanUpUserAndVideoTables(dao, COMMENT_TABLES);
     }
 
-    @After("@comments_scenarios")
-    public void cleanup() {
-        LOGGER.info("Truncating users, videos & comments tables AFTER executing tests");
-        cleanUpUserAndVideoTables(dao);
-        dao.truncate("comments_by_video");
-        dao.truncate("comments_by_user");
-    }
-
-
     @When("we have the following comments:")
     public void createCommentsOnVideo(List<CucumberVideoComment> comments) {
+        dao.markDirty(COMMENT_TABLES);
 
         for (CucumberVideoComment comment : comments) {
             CommentOnVideoRequest request = CommentOnVideoRequest
                     .newBuilder()
                     .setCommentId(uuidToTimeUuid(UUIDs.timeBased()))
                     .setComment(comment.getComment())
-                    .setUserId(uuidToUuid(USERS.get(comment.getUser())))
-                    .setVideoId(uuidToUuid(VIDEOS.get(comment.getVideo()).id))
+                    .setUserId(uuidToUuid(entities.users.get(comment.getUser())))
+                    .setVideoId(uuidToUuid(entities.videos.get(comment.getVideo()).id))
                     .build();
 
             final CommentOnVideoResponse response = commentStub.commentOnVideo(request);
@@ -89,13 +77,13 @@ public class CommentsServiceSteps extends AbstractSteps  {
 
     @Then("^I can see the comment '(.+)' on (video\\d)$")
     public void checkForCommentOnVideo(String expectedComment, String sourceVideo) {
-        assertThat(VIDEOS)
+        assertThat(entities.videos)
                 .as("%s is unknown, please specify videoXXX where XXX is a digit")
                 .containsKey(sourceVideo);
 
         GetVideoCommentsRequest request = GetVideoCommentsRequest
                 .newBuilder()
-                .setVideoId(uuidToUuid(VIDEOS.get(sourceVideo).id))
+                .setVideoId(uuidToUuid(entities.videos.get(sourceVideo).id))
                 .setPageSize(100)
                 .build();
 
@@ -112,7 +100,7 @@ public class CommentsServiceSteps extends AbstractSteps  {
 
     @Then("^I can see the comment '(.+)' on (video\\d) at page (\\d)$")
     public void checkForCommentOnVideoWithPaging(String expectedComment, String sourceVideo, int pageNumber) {
-        assertThat(VIDEOS)
+        assertThat(entities.videos)
                 .as("%s is unknown, please specify videoXXX where XXX is a digit")
                 .containsKey(sourceVideo);
 
@@ -123,7 +111,7 @@ public class CommentsServiceSteps extends AbstractSteps  {
 
         final GetVideoCommentsRequest request = GetVideoCommentsRequest
                 .newBuilder()
-                .setVideoId(uuidToUuid(VIDEOS.get(sourceVideo).id))
+                .setVideoId(uuidToUuid(entities.videos.get(sourceVideo).id))
                 .setStartingCommentId(startCommentId.get())
                 .setPageSize(1)
                 .build();
@@ -147,14 +135,14 @@ public class CommentsServiceSteps extends AbstractSteps  {
         if (startCommentId.isPresent()) {
             request = GetVideoCommentsRequest
                     .newBuilder()
-                    .setVideoId(uuidToUuid(VIDEOS.get(video).id))
+                    .setVideoId(uuidToUuid(entities.videos.get(video).id))
                     .setStartingCommentId(startCommentId.get())
                     .setPageSize(1)
                     .build();
         } else {
             request = GetVideoCommentsRequest
                     .newBuilder()
-                    .setVideoId(uuidToUuid(VIDEOS.get(video).id))
+                    .setVideoId(uuidToUuid(entities.videos.get(video).id))
                     .setPageSize(1)
                     .build();
         }
@@ -176,13 +164,13 @@ public class CommentsServiceSteps extends AbstractSteps  {
 
     @And("^(user\\d) can see the comment '(.+)' on his own comments$")
     public void checkForCommentOfUser(String user, String expectedComment) {
-        assertThat(USERS)
+        assertThat(entities.users)
                 .as("%s is unknown, please specify userXXX where XXX is a digit")
                 .containsKey(user);
 
         GetUserCommentsRequest request = GetUserCommentsRequest
                 .newBuilder()
-                .setUserId(uuidToUuid(USERS.get(user)))
+                .setUserId(uuidToUuid(entities.users.get(user)))
                 .setPageSize(100)
                 .build();
 
@@ -200,7 +188,7 @@ public class CommentsServiceSteps extends AbstractSteps  {
     @And("^(user\\d) can see the comment '(.+)' on his own comments at page (\\d)$")
     public void checkForCommentOfUserWithPaging(String user, String expectedComment, int pageNumber) {
 
-        assertThat(USERS)
+        assertThat(entities.users)
                 .as("%s is unknown, please specify userXXX where XXX is a digit")
                 .containsKey(user);
 
@@ -211,7 +199,7 @@ public class CommentsServiceSteps extends AbstractSteps  {
 
         GetUserCommentsRequest request = GetUserCommentsRequest
                 .newBuilder()
-                .setUserId(uuidToUuid(USERS.get(user)))
+                .setUserId(uuidToUuid(entities.users.get(user)))
                 .setStartingCommentId(startCommentId.get())
                 .setPageSize(1)
                 .build();
@@ -236,14 +224,14 @@ public class CommentsServiceSteps extends AbstractSteps  {
         if (startCommentId.isPresent()) {
             request = GetUserCommentsRequest
                     .newBuilder()
-                    .setUserId(uuidToUuid(USERS.get(user)))
+                    .setUserId(uuidToUuid(entities.users.get(user)))
                     .setStartingCommentId(startCommentId.get())
                     .setPageSize(1)
                     .build();
         } else {
             request = GetUserCommentsRequest
                     .newBuilder()
-                    .setUserId(uuidToUuid(USERS.get(user)))
+                    .setUserId(uuidToUuid(entities.users.get(user)))
                     .setPageSize(1)
                     .build();
         }
@@ -0,0 +1,26 @@
+package com.datastax.killrvideo.it.service;
+
+import javax.inject.Inject;
+
+import com.datastax.killrvideo.it.dao.QueryLatencyTracker;
+import com.datastax.killrvideo.it.grpc.RpcMetricsInterceptor;
+
+import cucumber.api.java.Before;
+
+/**
+ * Hands the metrics beans of the Spring context to the {@link PerformanceReportPlugin},
+ * which is created by Cucumber before the context exists
+ */
+public class PerformanceReportHooks {
+
+    @Inject
+    RpcMetricsInterceptor rpcMetrics;
+
+    @Inject
+    QueryLatencyTracker latencyTracker;
+
+    @Before(order = 0)
+    public void bindPerformanceReport() {
+        PerformanceReportPlugin.bind(rpcMetrics, latencyTracker);
+    }
+}
@@ -0,0 +1,305 @@
+package com.datastax.killrvideo.it.service;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.HdrHistogram.Histogram;
+
+import com.datastax.killrvideo.it.dao.HostStats;
+import com.datastax.killrvideo.it.dao.QueryLatencyTracker;
+import com.datastax.killrvideo.it.grpc.MethodStats;
+import com.datastax.killrvideo.it.grpc.RpcMetricsInterceptor;
+import com.google.gson.Gson;
+
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
+
+/**
+ * Cucumber plugin writing one JSON line per step and per scenario as soon as they finish, e.g.
+ * <em>com.datastax.killrvideo.it.service.PerformanceReportPlugin:target/performance-report.jsonl</em>.
+ * <br/>
+ * Each line holds the wall time, the gRPC calls issued (per method, with latency percentiles) and the CQL
+ * requests sent by the harness itself to verify the data. Counters are read from the {@link RpcMetricsInterceptor}
+ * and the {@link QueryLatencyTracker} before and after each step, nothing is kept once the line is written so
+ * the file of a long run can be tailed
+ */
+public class PerformanceReportPlugin implements Formatter, Reporter {
+
+    private static volatile RpcMetricsInterceptor rpcMetrics;
+    private static volatile QueryLatencyTracker latencyTracker;
+
+    private final Gson gson = new Gson();
+    private final Writer out;
+    private final Deque<Step> pendingSteps = new ArrayDeque<>();
+    private String featureName;
+    private String scenarioName;
+    private String scenarioStatus;
+    private int scenarioStepCount;
+    private MetricsSnapshot scenarioStart;
+    private MetricsSnapshot stepStart;
+
+    public PerformanceReportPlugin(File reportFile) throws IOException {
+        final File directory = reportFile.getAbsoluteFile().getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalStateException(format("Cannot create the performance report directory %s", directory));
+        }
+        this.out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(reportFile), UTF_8));
+    }
+
+    /**
+     * Called once the Spring context exists, see {@link PerformanceReportHooks}. Until then, metrics are reported as zero
+     */
+    static void bind(RpcMetricsInterceptor rpcMetrics, QueryLatencyTracker latencyTracker) {
+        PerformanceReportPlugin.rpcMetrics = rpcMetrics;
+        PerformanceReportPlugin.latencyTracker = latencyTracker;
+    }
+
+    @Override
+    public void feature(Feature feature) {
+        featureName = feature.getName();
+    }
+
+    @Override
+    public void startOfScenarioLifeCycle(Scenario scenario) {
+        scenarioName = scenario.getName();
+        scenarioStatus = Result.PASSED;
+        scenarioStepCount = 0;
+        pendingSteps.clear();
+        scenarioStart = MetricsSnapshot.take();
+    }
+
+    /**
+     * Steps are announced before any of them runs, then matched and executed in the same order
+     */
+    @Override
+    public void step(Step step) {
+        pendingSteps.add(step);
+    }
+
+    @Override
+    public void match(Match match) {
+        stepStart = MetricsSnapshot.take();
+    }
+
+    @Override
+    public void result(Result result) {
+        final Step step = pendingSteps.poll();
+        if (step == null || stepStart == null) {
+            return;
+        }
+        scenarioStepCount++;
+        if (Result.PASSED.equals(scenarioStatus) && !Result.PASSED.equals(result.getStatus())) {
+            scenarioStatus = result.getStatus();
+        }
+        final Map<String, Object> line = newLine("step", result.getStatus());
+        line.put("step", step.getKeyword() + step.getName());
+        line.put("line", step.getLine());
+        if (result.getErrorMessage() != null) {
+            line.put("error", firstLine(result.getErrorMessage()));
+        }
+        write(line, stepStart);
+        stepStart = null;
+    }
+
+    @Override
+    public void endOfScenarioLifeCycle(Scenario scenario) {
+        if (scenarioStart == null) {
+            return;
+        }
+        final Map<String, Object> line = newLine("scenario", scenarioStatus);
+        line.put("line", scenario.getLine());
+        line.put("steps", scenarioStepCount);
+        write(line, scenarioStart);
+        scenarioStart = null;
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot close the performance report", e);
+        }
+    }
+
+    @Override
+    public void syntaxError(String state, String event, List<String> legalEvents, String uri, Integer line) {
+    }
+
+    @Override
+    public void uri(String uri) {
+    }
+
+    @Override
+    public void scenarioOutline(ScenarioOutline scenarioOutline) {
+    }
+
+    @Override
+    public void examples(Examples examples) {
+    }
+
+    @Override
+    public void background(Background background) {
+    }
+
+    @Override
+    public void scenario(Scenario scenario) {
+    }
+
+    @Override
+    public void done() {
+    }
+
+    @Override
+    public void eof() {
+    }
+
+    @Override
+    public void before(Match match, Result result) {
+    }
+
+    @Override
+    public void after(Match match, Result result) {
+    }
+
+    @Override
+    public void embedding(String mimeType, byte[] data) {
+    }
+
+    @Override
+    public void write(String text) {
+    }
+
+    private Map<String, Object> newLine(String type, String status) {
+        final Map<String, Object> line = new LinkedHashMap<>();
+        line.put("type", type);
+        line.put("timestamp", System.currentTimeMillis());
+        line.put("feature", featureName);
+        line.put("scenario", scenarioName);
+        line.put("status", status);
+        return line;
+    }
+
+    /**
+     * Complete the line with the metrics recorded since the start snapshot, then flush it
+     */
+    private void write(Map<String, Object> line, MetricsSnapshot start) {
+        final MetricsSnapshot end = MetricsSnapshot.take();
+        line.put("wallTimeMillis", (end.nanoTime - start.nanoTime) / 1_000_000.0);
+        line.put("rpc", end.rpcSince(start));
+        line.put("cassandra", end.cassandraSince(start));
+        try {
+            out.write(gson.toJson(line));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write the performance report", e);
+        }
+    }
+
+    private static String firstLine(String text) {
+        final int end = text.indexOf('\n');
+        return end < 0 ? text : text.substring(0, end).trim();
+    }
+
+    /**
+     * Cumulative gRPC and CQL counters at one point in time
+     */
+    private static class MetricsSnapshot {
+
+        private final long nanoTime = System.nanoTime();
+        private final Map<String, Histogram> latencies = new HashMap<>();
+        private final Map<String, Long> errors = new HashMap<>();
+        private long cqlCount;
+        private long cqlErrors;
+        private double cqlTimeInMillis;
+
+        private static MetricsSnapshot take() {
+            final MetricsSnapshot snapshot = new MetricsSnapshot();
+            final RpcMetricsInterceptor rpcMetrics = PerformanceReportPlugin.rpcMetrics;
+            final QueryLatencyTracker latencyTracker = PerformanceReportPlugin.latencyTracker;
+            if (rpcMetrics != null) {
+                for (MethodStats stats : rpcMetrics.getMethodStats()) {
+                    snapshot.latencies.put(stats.getFullMethodName(), stats.getLatencies());
+                    snapshot.errors.put(stats.getFullMethodName(), stats.getErrorCount());
+                }
+            }
+            if (latencyTracker != null) {
+                for (HostStats stats : latencyTracker.getHostStats()) {
+                    snapshot.cqlCount += stats.getRequestCount();
+                    snapshot.cqlErrors += stats.getErrorCount();
+                    snapshot.cqlTimeInMillis += stats.getTotalTimeInMillis();
+                }
+            }
+            return snapshot;
+        }
+
+        /**
+         * Calls, errors and latency percentiles of the calls completed between the two snapshots,
+         * for all methods together and for each method
+         */
+        private Map<String, Object> rpcSince(MetricsSnapshot start) {
+            final Histogram all = new Histogram(3);
+            final Map<String, Object> methods = new TreeMap<>();
+            long allErrors = 0;
+            for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+                final Histogram delta = entry.getValue();
+                final Histogram before = start.latencies.get(entry.getKey());
+                if (before != null) {
+                    delta.subtract(before);
+                }
+                if (delta.getTotalCount() > 0) {
+                    final long methodErrors = errors.get(entry.getKey()) - start.errors.getOrDefault(entry.getKey(), 0L);
+                    methods.put(entry.getKey(), summarize(delta, methodErrors));
+                    all.add(delta);
+                    allErrors += methodErrors;
+                }
+            }
+            final Map<String, Object> rpc = new LinkedHashMap<>();
+            rpc.put("all", summarize(all, allErrors));
+            rpc.put("methods", methods);
+            return rpc;
+        }
+
+        private static Map<String, Object> summarize(Histogram latenciesInMicros, long errorCount) {
+            final Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("calls", latenciesInMicros.getTotalCount());
+            summary.put("errors", errorCount);
+            summary.put("p50Millis", latenciesInMicros.getValueAtPercentile(50) / 1000.0);
+            summary.put("p90Millis", latenciesInMicros.getValueAtPercentile(90) / 1000.0);
+            summary.put("p99Millis", latenciesInMicros.getValueAtPercentile(99) / 1000.0);
+            summary.put("maxMillis", latenciesInMicros.getMaxValue() / 1000.0);
+            return summary;
+        }
+
+        private Map<String, Object> cassandraSince(MetricsSnapshot start) {
+            final Map<String, Object> cassandra = new LinkedHashMap<>();
+            cassandra.put("queries", cqlCount - start.cqlCount);
+            cassandra.put("errors", cqlErrors - start.cqlErrors);
+            cassandra.put("timeMillis", cqlTimeInMillis - start.cqlTimeInMillis);
+            return cassandra;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.datastax.killrvideo.it.service;
+
+import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.USER_SERVICE_NAME;
+import static com.datastax.killrvideo.it.load.MixedWorkloadScenario.WRITTEN_TABLES;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.killrvideo.it.load.LoadDataSeeder;
+import com.datastax.killrvideo.it.load.LoadDataSet;
+import com.datastax.killrvideo.it.load.LoadDataSet.SeededUser;
+import com.datastax.killrvideo.it.load.LoadDriver;
+import com.datastax.killrvideo.it.load.LoadReport;
+import com.datastax.killrvideo.it.load.RpcCatalog;
+import com.datastax.killrvideo.it.load.RpcOperation;
+import com.datastax.killrvideo.it.load.RpcStats;
+
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import cucumber.api.java.en.When;
+
+/**
+ * Latency and throughput requirements, expressed with the users and videos of the other features
+ * and checked against the load driver report
+ */
+public class PerformanceSteps extends AbstractSteps {
+
+    private static Logger LOGGER = LoggerFactory.getLogger(PerformanceSteps.class);
+    private static AtomicReference<Boolean> SHOULD_CHECK_SERVICE= new AtomicReference<>(true);
+
+    @Override
+    protected String serviceName() {
+        return USER_SERVICE_NAME;
+    }
+
+    private LoadDataSet dataSet;
+    private LoadReport report;
+
+    @Before("@performance_scenarios")
+    public void init() {
+        Optional.of(SHOULD_CHECK_SERVICE).map(AtomicReference::get).ifPresent(x -> {
+            checkForService();
+            SHOULD_CHECK_SERVICE.getAndSet(null);
+        });
+
+        LOGGER.info("Truncating all tables written by load BEFORE executing tests");
+        dao.truncate(WRITTEN_TABLES);
+    }
+
+    @Given("^load targets users: (.*?) and videos: (.*)$")
+    public void loadTargets(List<String> users, List<String> videos) {
+        assertThat(entities.credentials)
+                .as("Users %s should have been created by 'those users already exist'", users)
+                .containsKeys(users.toArray(new String[users.size()]));
+
+        assertThat(entities.videos)
+                .as("%s is unknown, please specify videoXXX where XXX is a digit", videos)
+                .containsKeys(videos.toArray(new String[videos.size()]));
+
+        final List<SeededUser> seededUsers = users.stream().map(entities.credentials::get).collect(toList());
+        final List<UUID> videoIds = videos.stream().map(x -> entities.videos.get(x).id).collect(toList());
+        dataSet = new LoadDataSet(seededUsers, videoIds);
+    }
+
+    @Given("^a load data set of (\\d+) users and (\\d+) videos$")
+    public void seedLoadDataSet(int userCount, int videoCount) throws Exception {
+        dao.markDirty(WRITTEN_TABLES);
+        dataSet = new LoadDataSeeder(channels, properties.grpcInFlightWindow).seed(userCount, videoCount);
+    }
+
+    @When("^(\\d+) clients call (\\w+(?:, \\w+)*) for (\\d+) seconds$")
+    public void callAtMaximumRate(int clients, List<String> rpcs, int durationInSeconds) throws Exception {
+        callAtRate(clients, rpcs, 0, durationInSeconds);
+    }
+
+    @When("^(\\d+) clients call (\\w+(?:, \\w+)*) at (\\d+) rps for (\\d+) seconds$")
+    public void callAtRate(int clients, List<String> rpcs, int requestsPerSecond, int durationInSeconds) throws Exception {
+        assertThat(dataSet)
+                .as("Please define the load targets or a load data set before calling %s", rpcs)
+                .isNotNull();
+
+        final Map<String, RpcOperation> operations = new RpcCatalog(channels, dataSet).select(rpcs);
+        dao.markDirty(WRITTEN_TABLES);
+        report = new LoadDriver(operations, clients, requestsPerSecond).run(String.join(",", rpcs), durationInSeconds);
+        LOGGER.info(report.prettyPrint());
+    }
+
+    @Then("^p(\\d+(?:\\.\\d+)?) latency of (\\w+) is below (\\d+) ms$")
+    public void latencyIsBelow(double percentile, String rpc, int maxLatencyInMillis) {
+        final RpcStats stats = statsOf(rpc);
+        assertThat(stats.getLatencyInMillis(percentile))
+                .as("p%s latency of %s in ms", percentile, rpc)
+                .isLessThan(maxLatencyInMillis);
+    }
+
+    @Then("^throughput of (\\w+) is above (\\d+) rps$")
+    public void throughputIsAbove(String rpc, int minRequestsPerSecond) {
+        final RpcStats stats = statsOf(rpc);
+        assertThat(report.getThroughput(stats))
+                .as("Successful calls to %s per second", rpc)
+                .isGreaterThan(minRequestsPerSecond);
+    }
+
+    @Then("^p(\\d+(?:\\.\\d+)?) latency of (\\w+) is below (\\d+) ms and throughput is above (\\d+) rps$")
+    public void latencyAndThroughput(double percentile, String rpc, int maxLatencyInMillis, int minRequestsPerSecond) {
+        latencyIsBelow(percentile, rpc, maxLatencyInMillis);
+        throughputIsAbove(rpc, minRequestsPerSecond);
+    }
+
+    @Then("^no call to (\\w+) failed$")
+    public void noCallFailed(String rpc) {
+        final RpcStats stats = statsOf(rpc);
+        assertThat(stats.getErrorCount())
+                .as("Failed calls to %s, last error: %s", rpc, stats.getLastError())
+                .isEqualTo(0L);
+    }
+
+    private RpcStats statsOf(String rpc) {
+        assertThat(report)
+                .as("Please run some load before checking %s", rpc)
+                .isNotNull();
+
+        final Optional<RpcStats> stats = report.getStats()
+                .stream()
+                .filter(x -> x.getRpcName().equals(rpc))
+                .findFirst();
+        assertThat(stats.isPresent())
+                .as("%s was not called by the last load run", rpc)
+                .isTrue();
+        assertThat(stats.get().getTotalCount())
+                .as("Calls to %s", rpc)
+                .isGreaterThan(0L);
+        return stats.get();
+    }
+}
@@ -1,8 +1,7 @@
 package com.datastax.killrvideo.it.service;
 
 import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.RATINGS_SERVICE_NAME;
-import static com.datastax.killrvideo.it.service.UserManagementServiceSteps.USERS;
-import static com.datastax.killrvideo.it.service.VideoCatalogServiceSteps.VIDEOS;
+import static com.datastax.killrvideo.it.dao.CassandraDao.RATING_TABLES;
 import static com.datastax.killrvideo.it.service.VideoCatalogServiceSteps.cleanUpUserAndVideoTables;
 import static com.datastax.killrvideo.it.util.TypeConverter.uuidToUuid;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -14,7 +13,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 
-import cucumber.api.java.After;
 import cucumber.api.java.Before;
 import cucumber.api.java.en.Then;
 import cucumber.api.java.en.When;
@@ -41,29 +39,19 @@ public class RatingServiceSteps extends AbstractSteps {
             SHOULD_CHECK_SERVICE.getAndSet(null);
         });
 
-        ratingStub = RatingsServiceGrpc.newBlockingStub(managedChannel);
+        ratingStub = RatingsServiceGrpc.newBlockingStub(channels.get(serviceName()));
         LOGGER.info("Truncating users, videos & ratings tables BEFORE executing tests");
-        cleanUpUserAndVideoTables(dao);
-        dao.truncate("video_ratings");
-        dao.truncate("video_ratings_by_user");
-    }
-
-    @After("@ratings_scenarios")
-    public void cleanup() {
-        LOGGER.info("Truncating users, videos & ratings tables AFTER executing tests");
-        cleanUpUserAndVideoTables(dao);
-        dao.truncate("video_ratings");
-        dao.truncate("video_ratings_by_user");
+        cleanUpUserAndVideoTables(dao, RATING_TABLES);
     }
 
     @When("(user\\d) rates (video\\d) (\\d) stars")
     public void rateVideo(String user, String video, int starNumber) {
 
-        assertThat(VIDEOS)
+        assertThat(entities.videos)
                 .as("%s is unknown, please specify videoXXX where XXX is a digit")
                 .containsKeys(video);
 
-        assertThat(USERS)
+        assertThat(entities.users)
                 .as("%s is unknown, please specify userXXX where XXX is a digit")
                 .containsKey(user);
 
@@ -71,11 +59,12 @@ public class RatingServiceSteps extends AbstractSteps {
                 .as("Rating star number should be between 1 and 5 included")
                 .isBetween(1, 5);
 
+        dao.markDirty(RATING_TABLES);
         RateVideoRequest request = RateVideoRequest
                 .newBuilder()
                 .setRating(starNumber)
-                .setUserId(uuidToUuid(USERS.get(user)))
-                .setVideoId(uuidToUuid(VIDEOS.get(video).id))
+                .setUserId(uuidToUuid(entities.users.get(user)))
+                .setVideoId(uuidToUuid(entities.videos.get(video).id))
                 .build();
 
         final RateVideoResponse response = ratingStub.rateVideo(request);
@@ -88,7 +77,7 @@ public class RatingServiceSteps extends AbstractSteps {
     @Then("(video\\d) has (\\d+) ratings and total (\\d+) stars")
     public void getRatings(String video, long expectedRatingCount, long expectedTotalStars) {
 
-        assertThat(VIDEOS)
+        assertThat(entities.videos)
                 .as("%s is unknown, please specify videoXXX where XXX is a digit")
                 .containsKeys(video);
 
@@ -102,7 +91,7 @@ public class RatingServiceSteps extends AbstractSteps {
 
         GetRatingRequest request = GetRatingRequest
                 .newBuilder()
-                .setVideoId(uuidToUuid(VIDEOS.get(video).id))
+                .setVideoId(uuidToUuid(entities.videos.get(video).id))
                 .build();
 
         final GetRatingResponse response = ratingStub.getRating(request);
@@ -123,12 +112,12 @@ public class RatingServiceSteps extends AbstractSteps {
     @Then("(user\\d) rating for (video\\d) has (\\d+) stars")
     public void getUserRatings(String user, String targetVideo, int expectedTotalStars) {
 
-        assertThat(VIDEOS)
+        assertThat(entities.videos)
                 .as("%s is unknown, please specify videoXXX where XXX is a digit")
                 .containsKeys(targetVideo);
 
 
-        assertThat(USERS)
+        assertThat(entities.users)
                 .as("%s is unknown, please specify userXXX where XXX is a digit")
                 .containsKey(user);
 
@@ -138,8 +127,8 @@ public class RatingServiceSteps extends AbstractSteps {
 
         GetUserRatingRequest request = GetUserRatingRequest
                 .newBuilder()
-                .setUserId(uuidToUuid(USERS.get(user)))
-                .setVideoId(uuidToUuid(VIDEOS.get(targetVideo).id))
+                .setUserId(uuidToUuid(entities.users.get(user)))
+                .setVideoId(uuidToUuid(entities.videos.get(targetVideo).id))
                 .build();
 
         final GetUserRatingResponse response = ratingStub.getUserRating(request);
@@ -1,8 +1,6 @@
 package com.datastax.killrvideo.it.service;
 
 import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.SEARCH_SERVICE_NAME;
-import static com.datastax.killrvideo.it.service.VideoCatalogServiceSteps.VIDEOS;
-import static com.datastax.killrvideo.it.service.VideoCatalogServiceSteps.VIDEOS_BY_ID;
 import static com.datastax.killrvideo.it.service.VideoCatalogServiceSteps.cleanUpUserAndVideoTables;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -15,7 +13,6 @@ import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import cucumber.api.java.After;
 import cucumber.api.java.Before;
 import cucumber.api.java.en.Then;
 import killrvideo.search.SearchServiceGrpc;
@@ -41,23 +38,17 @@ public class SearchServiceSteps extends AbstractSteps {
             SHOULD_CHECK_SERVICE.getAndSet(null);
         });
 
-        searchStub = SearchServiceGrpc.newBlockingStub(managedChannel);
+        searchStub = SearchServiceGrpc.newBlockingStub(channels.get(serviceName()));
         LOGGER.info("Truncating users & videos BEFORE executing tests");
         cleanUpUserAndVideoTables(dao);
     }
 
-    @After("@search_scenarios")
-    public void cleanup() {
-        LOGGER.info("Truncating users & videos tables AFTER executing tests");
-        cleanUpUserAndVideoTables(dao);
-    }
-
     @Then("searching videos with tag (.+) gives: (.*)")
     public void searchVideosByTag(String tag, List<String> expectedVideos) {
 
         final int expectedVideoCount = expectedVideos.size();
 
-        assertThat(VIDEOS)
+        assertThat(entities.videos)
                 .as("%s is unknown, please specify videoXXX where XXX is a digit")
                 .containsKeys(expectedVideos.toArray(new String[expectedVideoCount]));
 
@@ -85,7 +76,7 @@ public class SearchServiceSteps extends AbstractSteps {
         assertThat(response.getVideosList()
                     .stream()
                     .map(SearchResultsVideoPreview::getVideoId)
-                    .map(x -> VIDEOS_BY_ID.get(UUID.fromString(x.getValue())))
+                    .map(x -> entities.videosById.get(UUID.fromString(x.getValue())))
                     .collect(toList()))
                 .as("Found videos with tag %s do not match %s", tag,
                         String.join(", ", expectedVideos))
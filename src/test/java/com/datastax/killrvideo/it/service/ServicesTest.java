@@ -8,7 +8,8 @@ import cucumber.api.junit.Cucumber;
 @RunWith(Cucumber.class)
 @CucumberOptions(
         strict=false,
-        plugin = {"progress", "html:/tmp/cucumber-report"},
+        plugin = {"progress", "html:/tmp/cucumber-report",
+                "com.datastax.killrvideo.it.service.PerformanceReportPlugin:target/performance-report.jsonl"},
         features = "src/test/resources")
 public class ServicesTest {
 
@@ -1,14 +1,14 @@
 package com.datastax.killrvideo.it.service;
 
 import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.STATISTICS_SERVICE_NAME;
-import static com.datastax.killrvideo.it.service.VideoCatalogServiceSteps.VIDEOS;
-import static com.datastax.killrvideo.it.service.VideoCatalogServiceSteps.VIDEOS_BY_ID;
+import static com.datastax.killrvideo.it.dao.CassandraDao.STATISTICS_TABLES;
 import static com.datastax.killrvideo.it.service.VideoCatalogServiceSteps.cleanUpUserAndVideoTables;
 import static com.datastax.killrvideo.it.util.TypeConverter.uuidToUuid;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -19,12 +19,16 @@ import java.util.stream.IntStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import cucumber.api.java.After;
+import com.datastax.killrvideo.it.async.InFlightWindow;
+import com.datastax.killrvideo.it.async.PipelineResult;
+import com.google.common.util.concurrent.ListenableFuture;
+
 import cucumber.api.java.Before;
 import cucumber.api.java.en.And;
 import cucumber.api.java.en.Then;
 import killrvideo.statistics.StatisticsServiceGrpc;
 import killrvideo.statistics.StatisticsServiceGrpc.StatisticsServiceBlockingStub;
+import killrvideo.statistics.StatisticsServiceGrpc.StatisticsServiceFutureStub;
 import killrvideo.statistics.StatisticsServiceOuterClass.*;
 import killrvideo.statistics.StatisticsServiceOuterClass.GetNumberOfPlaysRequest.Builder;
 
@@ -39,6 +43,7 @@ public class StatisticsServiceSteps extends AbstractSteps {
     }
 
     private StatisticsServiceBlockingStub statisticsStub;
+    private StatisticsServiceFutureStub statisticsFutureStub;
 
     @Before("@stats_scenarios")
     public void init() {
@@ -47,23 +52,16 @@ public class StatisticsServiceSteps extends AbstractSteps {
             SHOULD_CHECK_SERVICE.getAndSet(null);
         });
 
-        statisticsStub = StatisticsServiceGrpc.newBlockingStub(managedChannel);
+        statisticsStub = StatisticsServiceGrpc.newBlockingStub(channels.get(serviceName()));
+        statisticsFutureStub = StatisticsServiceGrpc.newFutureStub(channels.get(serviceName()));
         LOGGER.info("Truncating users, videos & statistics tables BEFORE executing tests");
-        cleanUpUserAndVideoTables(dao);
-        dao.truncate("video_playback_stats");
-    }
-
-    @After("@stats_scenarios")
-    public void cleanup() {
-        LOGGER.info("Truncating users, videos & statistics tables AFTER executing tests");
-        cleanUpUserAndVideoTables(dao);
-        dao.truncate("video_playback_stats");
+        cleanUpUserAndVideoTables(dao, STATISTICS_TABLES);
     }
 
     @And("(video\\d) is watched (\\d+) times")
-    public void recordPlayback(String video, int playbackCount) {
+    public void recordPlayback(String video, int playbackCount) throws Exception {
 
-        assertThat(VIDEOS)
+        assertThat(entities.videos)
                 .as("%s is unknown, please specify videoXXX where XXX is a digit")
                 .containsKeys(video);
 
@@ -71,22 +69,28 @@ public class StatisticsServiceSteps extends AbstractSteps {
                 .as("Playback count should be strictly positive")
                 .isGreaterThan(0);
 
-        RecordPlaybackStartedRequest request;
-        RecordPlaybackStartedResponse response;
+        final RecordPlaybackStartedRequest request = RecordPlaybackStartedRequest
+                .newBuilder()
+                .setVideoId(uuidToUuid(entities.videos.get(video).id))
+                .build();
 
+        dao.markDirty(STATISTICS_TABLES);
+        final InFlightWindow window = new InFlightWindow(properties.grpcInFlightWindow);
+        final List<ListenableFuture<RecordPlaybackStartedResponse>> futures = new ArrayList<>(playbackCount);
         for(int i=1; i<= playbackCount; i++) {
+            futures.add(window.submit(() -> statisticsFutureStub.recordPlaybackStarted(request)));
+        }
 
-            request = RecordPlaybackStartedRequest
-                    .newBuilder()
-                    .setVideoId(uuidToUuid(VIDEOS.get(video).id))
-                    .build();
+        final PipelineResult<RecordPlaybackStartedResponse> result = PipelineResult.await(futures);
 
-            response = statisticsStub.recordPlaybackStarted(request);
+        assertThat(result.getErrors())
+                .as("Cannot record playback for %s", video)
+                .isEmpty();
 
-            assertThat(response)
-                    .as("Cannot record playback for %s", video)
-                    .isNotNull();
-        }
+        assertThat(result.getResponses())
+                .as("Cannot record playback for %s", video)
+                .hasSize(playbackCount)
+                .doesNotContainNull();
     }
 
     @Then("(.*) statistics shows (.*) plays")
@@ -97,7 +101,7 @@ public class StatisticsServiceSteps extends AbstractSteps {
         final String listOfVideos = String.join(", ", videos);
         final String listOfStatistics = String.join(", ", expectedPlaybackCountsList.stream().map(x -> x.toString()).collect(toList()));
 
-        assertThat(VIDEOS)
+        assertThat(entities.videos)
                 .as("%s is unknown, please specify videoXXX where XXX is a digit")
                 .containsKeys(videos.toArray(new String[videosCount]));
 
@@ -116,7 +120,7 @@ public class StatisticsServiceSteps extends AbstractSteps {
 
         final Builder builder = GetNumberOfPlaysRequest.newBuilder();
 
-        videos.forEach(video -> builder.addVideoIds(uuidToUuid(VIDEOS.get(video).id)));
+        videos.forEach(video -> builder.addVideoIds(uuidToUuid(entities.videos.get(video).id)));
 
         final GetNumberOfPlaysRequest request = builder.build();
 
@@ -132,7 +136,7 @@ public class StatisticsServiceSteps extends AbstractSteps {
 
         final Map<String, Long> expectedVideosPlayBackStats = response.getStatsList()
                 .stream()
-                .collect(toMap(x -> VIDEOS_BY_ID.get(UUID.fromString(x.getVideoId().getValue())),
+                .collect(toMap(x -> entities.videosById.get(UUID.fromString(x.getVideoId().getValue())),
                         PlayStats::getViews));
 
         assertThat(expectedVideosPlayBackStats)
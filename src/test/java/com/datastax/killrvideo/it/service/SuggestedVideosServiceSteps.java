@@ -1,8 +1,6 @@
 package com.datastax.killrvideo.it.service;
 
 import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.SUGGESTED_VIDEOS_SERVICE_NAME;
-import static com.datastax.killrvideo.it.service.VideoCatalogServiceSteps.VIDEOS;
-import static com.datastax.killrvideo.it.service.VideoCatalogServiceSteps.VIDEOS_BY_ID;
 import static com.datastax.killrvideo.it.service.VideoCatalogServiceSteps.cleanUpUserAndVideoTables;
 import static com.datastax.killrvideo.it.util.TypeConverter.uuidToUuid;
 import static java.util.stream.Collectors.toList;
@@ -16,7 +14,6 @@ import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import cucumber.api.java.After;
 import cucumber.api.java.Before;
 import cucumber.api.java.en.Then;
 import killrvideo.suggested_videos.SuggestedVideoServiceGrpc;
@@ -44,21 +41,15 @@ public class SuggestedVideosServiceSteps extends AbstractSteps {
             SHOULD_CHECK_SERVICE.getAndSet(null);
         });
 
-        suggestedStub = SuggestedVideoServiceGrpc.newBlockingStub(managedChannel);
+        suggestedStub = SuggestedVideoServiceGrpc.newBlockingStub(channels.get(serviceName()));
         LOGGER.info("Truncating users & videos tables BEFORE executing tests");
         cleanUpUserAndVideoTables(dao);
     }
 
-    @After("@suggested_videos_scenarios")
-    public void cleanup() {
-        LOGGER.info("Truncating users & videos tables AFTER executing tests");
-        cleanUpUserAndVideoTables(dao);
-    }
-
     @Then("user who likes (video\\d) should be suggested: (.*)")
     public void getRelatedVideos(String sourceVideo, List<String> expectedRelatedVideos) {
 
-        assertThat(VIDEOS)
+        assertThat(entities.videos)
                 .as("%s is unknown, please specify videoXXX where XXX is a digit")
                 .containsKey(sourceVideo);
 
@@ -69,7 +60,7 @@ public class SuggestedVideosServiceSteps extends AbstractSteps {
         GetRelatedVideosRequest request = GetRelatedVideosRequest
                 .newBuilder()
                 .setPageSize(100)
-                .setVideoId(uuidToUuid(VIDEOS.get(sourceVideo).id))
+                .setVideoId(uuidToUuid(entities.videos.get(sourceVideo).id))
                 .build();
 
         final GetRelatedVideosResponse response = suggestedStub.getRelatedVideos(request);
@@ -86,7 +77,7 @@ public class SuggestedVideosServiceSteps extends AbstractSteps {
         assertThat(response.getVideosList()
                 .stream()
                 .map(SuggestedVideoPreview::getVideoId)
-                .map(x -> VIDEOS_BY_ID.get(UUID.fromString(x.getValue())))
+                .map(x -> entities.videosById.get(UUID.fromString(x.getValue())))
                 .collect(toList()))
                 .as("Related videos found for source %s do not match expected %s",
                         sourceVideo, String.join(", ", expectedRelatedVideos))
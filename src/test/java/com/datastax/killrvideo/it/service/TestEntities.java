@@ -0,0 +1,51 @@
+package com.datastax.killrvideo.it.service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.datastax.killrvideo.it.load.LoadDataSet.SeededUser;
+import com.datastax.killrvideo.it.service.VideoCatalogServiceSteps.VideoNameById;
+
+import killrvideo.user_management.UserManagementServiceOuterClass.UserProfile;
+
+/**
+ * Users, videos and results referenced by name (user1, video1...) in the feature files.
+ * One instance per Spring context, hence per test worker, so that workers never share ids
+ */
+@Component
+public class TestEntities {
+
+    public final Map<String, UUID> users;
+    public final Map<String, VideoNameById> videos;
+    public final Map<UUID, String> videosById;
+    public final Map<String, SeededUser> credentials = new ConcurrentHashMap<>();
+    public final Map<String, UserProfile> profiles = new ConcurrentHashMap<>();
+    public final Map<String, String> errors = new ConcurrentHashMap<>();
+
+    public TestEntities() {
+        final Map<String, UUID> users = new LinkedHashMap<>();
+        users.put("user1", UUID.randomUUID());
+        users.put("user2", UUID.randomUUID());
+        users.put("user3", UUID.randomUUID());
+        users.put("user4", UUID.randomUUID());
+        this.users = Collections.unmodifiableMap(users);
+
+        final Map<String, VideoNameById> videos = new LinkedHashMap<>();
+        videos.put("video1", new VideoNameById(UUID.randomUUID(), "b-wing-ucs.mp4"));
+        videos.put("video2", new VideoNameById(UUID.randomUUID(), "y-wing-ucs.mp4"));
+        videos.put("video3", new VideoNameById(UUID.randomUUID(), "x-wing-ucs.mp4"));
+        videos.put("video4", new VideoNameById(UUID.randomUUID(), "tie-fighter-ucs.mp4"));
+        videos.put("video5", new VideoNameById(UUID.randomUUID(), "mil-falcon-ucs.mp4"));
+        this.videos = Collections.unmodifiableMap(videos);
+
+        this.videosById = Collections.unmodifiableMap(videos.entrySet()
+                .stream()
+                .collect(Collectors.toMap(x -> x.getValue().id, Map.Entry::getKey)));
+    }
+}
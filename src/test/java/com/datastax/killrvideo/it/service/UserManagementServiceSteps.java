@@ -1,12 +1,16 @@
 package com.datastax.killrvideo.it.service;
 
 import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.USER_SERVICE_NAME;
+import static com.datastax.killrvideo.it.dao.CassandraDao.FIND_USER_BY_EMAIL;
+import static com.datastax.killrvideo.it.dao.CassandraDao.USER_TABLES;
 import static com.datastax.killrvideo.it.util.TypeConverter.uuidToUuid;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -14,11 +18,10 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.Row;
+import com.datastax.killrvideo.it.load.LoadDataSet.SeededUser;
 import com.datastax.killrvideo.it.util.TypeConverter;
 
-import cucumber.api.java.After;
 import cucumber.api.java.Before;
 import cucumber.api.java.en.Given;
 import cucumber.api.java.en.Then;
@@ -31,23 +34,13 @@ public class UserManagementServiceSteps extends AbstractSteps {
 
     private static Logger LOGGER = LoggerFactory.getLogger(UserManagementServiceSteps.class);
     private static AtomicReference<Boolean> SHOULD_CHECK_SERVICE= new AtomicReference<>(true);
+    private static final long USER_CREATION_TIMEOUT_IN_SECONDS = 30;
 
     @Override
     protected String serviceName() {
         return USER_SERVICE_NAME;
     }
 
-    private static final Map<String, UserProfile> PROFILES = new HashMap<>();
-    private static final Map<String, String> ERRORS = new ConcurrentHashMap<>();
-    public static Map<String, UUID> USERS = new HashMap<String, UUID>() {
-        {
-            put("user1", UUID.randomUUID());
-            put("user2", UUID.randomUUID());
-            put("user3", UUID.randomUUID());
-            put("user4", UUID.randomUUID());
-        }
-    };
-
     private UserManagementServiceBlockingStub userStub;
 
 
@@ -58,45 +51,41 @@ public class UserManagementServiceSteps extends AbstractSteps {
             SHOULD_CHECK_SERVICE.getAndSet(null);
         });
 
-        userStub = UserManagementServiceGrpc.newBlockingStub(managedChannel);
+        userStub = UserManagementServiceGrpc.newBlockingStub(channels.get(serviceName()));
         LOGGER.info("Truncating users/user_credentials tables BEFORE executing tests");
-        dao.truncate("user_credentials");
-        dao.truncate("users");
-    }
-
-    @After("@user_scenarios")
-    public void cleanup() {
-        LOGGER.info("Truncating users/user_credentials tables AFTER executing tests");
-        dao.truncate("user_credentials");
-        dao.truncate("users");
+        dao.truncate(USER_TABLES);
     }
 
     @Given("those users already exist: (.*)")
     public void createUserWithId(List<String> users) throws Exception {
+        dao.markDirty(USER_TABLES);
         for (String user : users) {
-            assertThat(USERS)
+            assertThat(entities.users)
                     .as("%s is unknown, please specify userXXX where XXX is a digit")
                     .containsKey(user);
 
+            final SeededUser credentials = new SeededUser(entities.users.get(user),
+                    RandomStringUtils.randomAlphabetic(10) + "@gmail.com",
+                    RandomStringUtils.randomAlphabetic(10));
             final CreateUserRequest request = CreateUserRequest.newBuilder()
-                    .setUserId(uuidToUuid(USERS.get(user)))
-                    .setEmail(RandomStringUtils.randomAlphabetic(10) + "@gmail.com")
+                    .setUserId(uuidToUuid(credentials.id))
+                    .setEmail(credentials.email)
                     .setFirstName(RandomStringUtils.randomAlphabetic(5))
                     .setLastName(RandomStringUtils.randomAlphabetic(5))
-                    .setPassword(RandomStringUtils.randomAlphabetic(10))
+                    .setPassword(credentials.password)
                     .build();
 
             final CreateUserResponse response = userStub.createUser(request);
 
             assertThat(response).as("Cannot create %s", user).isNotNull();
+            entities.credentials.put(user, credentials);
         }
 
     }
 
     @Given("^user with email (.+) does not exist$")
     public void ensureUserDoesNotExist(String email) {
-        final BoundStatement bs = dao.findUserByEmailPs.bind(email);
-        final Row foundUserByEmail = dao.getOne(bs);
+        final Row foundUserByEmail = dao.getOne(FIND_USER_BY_EMAIL, email);
         assertThat(foundUserByEmail)
                 .as("User with email %s should not already exist", email)
                 .isNull();
@@ -116,13 +105,23 @@ public class UserManagementServiceSteps extends AbstractSteps {
                     .build());
         }
 
-        final CountDownLatch startLatch = new CountDownLatch(userCount);
-        requests.forEach(x -> threadPool.submit(createThreadForUserCreation(startLatch, userStub, x)));
-        startLatch.await();
+        dao.markDirty(USER_TABLES);
+        final List<Future<?>> creations = new ArrayList<>(userCount);
+        requests.forEach(x -> creations.add(threadPool.submit(createThreadForUserCreation(userStub, x))));
+        // A task dropped by the discard rejections never completes, it fails the step instead of hanging it
+        for (Future<?> creation : creations) {
+            try {
+                creation.get(USER_CREATION_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                fail(String.format("User creation with email %s did not complete within %s seconds, " +
+                        "was it discarded by the harness executor?", email, USER_CREATION_TIMEOUT_IN_SECONDS));
+            }
+        }
     }
 
     @Given("user with credentials ([^/]+)/(.+) already exists")
     public void ensureUserAlreadyExists(String email, String password) {
+        dao.markDirty(USER_TABLES);
         final CreateUserRequest userRequest = CreateUserRequest.newBuilder()
                 .setUserId(TypeConverter.uuidToUuid(UUID.randomUUID()))
                 .setEmail(email)
@@ -152,10 +151,10 @@ public class UserManagementServiceSteps extends AbstractSteps {
 
     @Then("I receive the '(.+)' error message for (.+) account")
     public void checkErrorsForAccount(String errorMessage, String email) {
-        assertThat(ERRORS)
+        assertThat(entities.errors)
                 .as("Cannot find error message %s for %s account", errorMessage, email)
                 .containsKey(email);
-        assertThat(ERRORS.get(email))
+        assertThat(entities.errors.get(email))
                 .as("Cannot find error message %s for %s account", errorMessage, email)
                 .contains(errorMessage);
 
@@ -163,8 +162,7 @@ public class UserManagementServiceSteps extends AbstractSteps {
 
     @When("I get profile of (.+)")
     public void getProfile(String email) {
-        final BoundStatement bs = dao.findUserByEmailPs.bind(email);
-        final Row foundUserByEmail = dao.getOne(bs);
+        final Row foundUserByEmail = dao.getOne(FIND_USER_BY_EMAIL, email);
 
         assertThat(foundUserByEmail).as("Cannot find user with email %s", email).isNotNull();
 
@@ -182,32 +180,29 @@ public class UserManagementServiceSteps extends AbstractSteps {
         assertThat(response).as("Cannot find user with email %s", email).isNotNull();
         assertThat(response.getProfilesList()).as("Cannot find user with email %s", email).hasSize(1);
 
-        PROFILES.put(email, response.getProfiles(0));
+        entities.profiles.put(email, response.getProfiles(0));
     }
 
     @Then("the profile (.+) exists")
     public void ensureProfileDoesExist(String email) {
-        assertThat(PROFILES)
+        assertThat(entities.profiles)
                 .as("Cannot find profile %s", email)
                 .containsKey(email);
 
-        final UserProfile userProfile = PROFILES.get(email);
+        final UserProfile userProfile = entities.profiles.get(email);
         assertThat(userProfile.getEmail())
                 .as("Cannot find profile %s", email)
                 .isEqualTo(email);
     }
 
     private Runnable createThreadForUserCreation(
-            final CountDownLatch startLatch,
             final UserManagementServiceBlockingStub stub,
             final CreateUserRequest request) {
         return () -> {
             try {
                 stub.createUser(request);
             } catch(Exception ex) {
-                ERRORS.putIfAbsent(request.getEmail(), ex.getMessage());
-            } finally {
-                startLatch.countDown();
+                entities.errors.putIfAbsent(request.getEmail(), ex.getMessage());
             }
         };
     }
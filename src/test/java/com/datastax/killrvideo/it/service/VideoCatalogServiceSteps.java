@@ -1,7 +1,9 @@
 package com.datastax.killrvideo.it.service;
 
 import static com.datastax.killrvideo.it.configuration.KillrVideoITConfiguration.VIDEO_CATALOG_SERVICE_NAME;
-import static com.datastax.killrvideo.it.service.UserManagementServiceSteps.USERS;
+import static com.datastax.killrvideo.it.dao.CassandraDao.FIND_VIDEO_BY_ID;
+import static com.datastax.killrvideo.it.dao.CassandraDao.USER_TABLES;
+import static com.datastax.killrvideo.it.dao.CassandraDao.VIDEO_TABLES;
 import static com.datastax.killrvideo.it.util.TypeConverter.dateToTimestamp;
 import static com.datastax.killrvideo.it.util.TypeConverter.uuidToUuid;
 import static java.util.stream.Collectors.toList;
@@ -17,7 +19,6 @@ import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.Row;
 import com.datastax.killrvideo.it.dao.CassandraDao;
 
-import cucumber.api.java.After;
 import cucumber.api.java.Before;
 import cucumber.api.java.en.Then;
 import cucumber.api.java.en.When;
@@ -35,20 +36,6 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
         return VIDEO_CATALOG_SERVICE_NAME;
     }
 
-    public static final Map<String, VideoNameById> VIDEOS = new HashMap<String, VideoNameById>() {
-        {
-            put("video1", new VideoNameById(UUID.randomUUID(), "b-wing-ucs.mp4"));
-            put("video2", new VideoNameById(UUID.randomUUID(), "y-wing-ucs.mp4"));
-            put("video3", new VideoNameById(UUID.randomUUID(), "x-wing-ucs.mp4"));
-            put("video4", new VideoNameById(UUID.randomUUID(), "tie-fighter-ucs.mp4"));
-            put("video5", new VideoNameById(UUID.randomUUID(), "mil-falcon-ucs.mp4"));
-        }
-    };
-
-    public static final Map<UUID, String> VIDEOS_BY_ID = VIDEOS.entrySet()
-            .stream()
-            .collect(Collectors.toMap(x -> x.getValue().id, Map.Entry::getKey));
-
     private VideoCatalogServiceBlockingStub videoStub;
 
     @Before("@video_scenarios")
@@ -58,20 +45,17 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
             SHOULD_CHECK_SERVICE.getAndSet(null);
         });
 
-        videoStub = VideoCatalogServiceGrpc.newBlockingStub(managedChannel);
+        videoStub = VideoCatalogServiceGrpc.newBlockingStub(channels.get(serviceName()));
         LOGGER.info("Truncating users & videos tables BEFORE executing tests");
         cleanUpUserAndVideoTables(dao);
     }
 
-    @After("@video_scenarios")
-    public void cleanup() {
-        LOGGER.info("Truncating users & videos tables AFTER executing tests");
-        cleanUpUserAndVideoTables(dao);
-    }
-
     @When("^(user\\d) submit Youtube videos:$")
     public void createVideos(String user, List<CucumberVideoDetails> videos) throws Exception {
 
+        dao.markDirty(VIDEO_TABLES);
+
+        // One blocking submission at a time, the server dates videos on reception and scenarios expect submission order
         for (CucumberVideoDetails video : videos) {
 
             assertThat(video.tags)
@@ -81,8 +65,8 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
             final SubmitYouTubeVideoRequest request = SubmitYouTubeVideoRequest
                     .newBuilder()
                     .setName(video.name)
-                    .setVideoId(uuidToUuid(VIDEOS.get(video.id).id))
-                    .setUserId(uuidToUuid(USERS.get(user)))
+                    .setVideoId(uuidToUuid(entities.videos.get(video.id).id))
+                    .setUserId(uuidToUuid(entities.users.get(user)))
                     .setDescription(video.description)
                     .setYouTubeVideoId(video.url)
                     .addAllTags(Arrays.asList(video.tags.split(",")))
@@ -96,11 +80,11 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
 
     @Then("I can retrieve (video\\d) by id")
     public void getVideoById(String video) {
-        assertThat(VIDEOS)
+        assertThat(entities.videos)
                 .as("%s is unknown, please specify videoXXX where XXX is a digit")
                 .containsKey(video);
 
-        final VideoNameById videoNameById = VIDEOS.get(video);
+        final VideoNameById videoNameById = entities.videos.get(video);
 
         GetVideoRequest request = GetVideoRequest
                 .newBuilder()
@@ -122,10 +106,10 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
     public void getVideosPreview(List<String> expectedVideos) {
         final GetVideoPreviewsRequest.Builder builder = GetVideoPreviewsRequest.newBuilder();
         for (String video : expectedVideos) {
-            assertThat(VIDEOS)
+            assertThat(entities.videos)
                     .as("%s is unknown, please specify videoXXX where XXX is a digit")
                     .containsKey(video);
-            builder.addVideoIds(uuidToUuid(VIDEOS.get(video).id));
+            builder.addVideoIds(uuidToUuid(entities.videos.get(video).id));
         }
 
         final GetVideoPreviewsResponse response = videoStub.getVideoPreviews(builder.build());
@@ -142,13 +126,13 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
 
         assertThat(response.getVideoPreviewsList().stream().map(VideoPreview::getName).collect(toList()))
                 .as("Cannot get previews for %s", String.join(", ", expectedVideos))
-                .containsExactly(expectedVideos.stream().map(x -> VIDEOS.get(x).name).collect(toList()).toArray(new String[expectedVideoCount]));
+                .containsExactly(expectedVideos.stream().map(x -> entities.videos.get(x).name).collect(toList()).toArray(new String[expectedVideoCount]));
     }
 
     @Then("latest videos preview contains: (.*)")
     public void getLatestVideosPreview(List<String> expectedVideos) {
         final int expectedVideoCount = expectedVideos.size();
-        assertThat(VIDEOS)
+        assertThat(entities.videos)
                 .as("%s is unknown, please specify videoXXX where XXX is a digit")
                 .containsKeys(expectedVideos.toArray(new String[expectedVideoCount]));
 
@@ -169,7 +153,7 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
 
         assertThat(response.getVideoPreviewsList().stream().map(VideoPreview::getName).collect(toList()))
                 .as("Cannot get latest videos preview for %s", String.join(" ,", expectedVideos))
-                .containsExactly(expectedVideos.stream().map(x -> VIDEOS.get(x).name).collect(toList()).toArray(new String[expectedVideoCount]));
+                .containsExactly(expectedVideos.stream().map(x -> entities.videos.get(x).name).collect(toList()).toArray(new String[expectedVideoCount]));
     }
 
     @Then("(user\\d) videos preview contains: (.*)")
@@ -177,17 +161,17 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
 
         final int expectedVideoCount = expectedVideos.size();
 
-        assertThat(VIDEOS)
+        assertThat(entities.videos)
                 .as("%s is unknown, please specify videoXXX where XXX is a digit")
                 .containsKeys(expectedVideos.toArray(new String[expectedVideoCount]));
 
-        assertThat(USERS)
+        assertThat(entities.users)
                 .as("%s is unknown, please specify userXXX where XXX is a digit")
                 .containsKey(user);
 
         GetUserVideoPreviewsRequest request = GetUserVideoPreviewsRequest
                 .newBuilder()
-                .setUserId(uuidToUuid(USERS.get(user)))
+                .setUserId(uuidToUuid(entities.users.get(user)))
                 .setPageSize(100)
                 .build();
 
@@ -203,7 +187,7 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
 
         assertThat(response.getVideoPreviewsList().stream().map(VideoPreview::getName).collect(toList()))
                 .as("Cannot get latest videos preview for %s", String.join(" ,", expectedVideos))
-                .containsExactly(expectedVideos.stream().map(x -> VIDEOS.get(x).name).collect(toList()).toArray(new String[expectedVideoCount]));
+                .containsExactly(expectedVideos.stream().map(x -> entities.videos.get(x).name).collect(toList()).toArray(new String[expectedVideoCount]));
     }
 
     @Then("latest videos preview starting from (video\\d) contains: (.*)")
@@ -211,12 +195,12 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
 
         final int expectedVideoCount = videos.size();
 
-        assertThat(VIDEOS)
+        assertThat(entities.videos)
                 .as("%s is unknown, please specify videoXXX where XXX is a digit")
                 .containsKeys(videos.toArray(new String[expectedVideoCount]));
 
-        final UUID startVideoId = VIDEOS.get(startVideo).id;
-        final Row row = dao.session.execute(dao.findVideoByIdPs.bind(startVideoId)).one();
+        final UUID startVideoId = entities.videos.get(startVideo).id;
+        final Row row = dao.getOne(FIND_VIDEO_BY_ID, startVideoId);
 
         assertThat(row)
                 .as("Cannot load %s info", startVideo)
@@ -247,13 +231,13 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
 
         assertThat(response.getVideoPreviewsList().stream().map(VideoPreview::getName).collect(toList()))
                 .as("Cannot get latest videos preview for %s", String.join(" ,", videos))
-                .containsExactly(videos.stream().map(x -> VIDEOS.get(x).name).collect(toList()).toArray(new String[expectedVideoCount]));
+                .containsExactly(videos.stream().map(x -> entities.videos.get(x).name).collect(toList()).toArray(new String[expectedVideoCount]));
     }
 
     @Then("latest videos preview at page (\\d) contains: (.*)")
     public void getLatestVideosPreviewWithPaging(int pageNumber, List<String> expectedVideos) {
         final int expectedVideoCount = expectedVideos.size();
-        assertThat(VIDEOS)
+        assertThat(entities.videos)
                 .as("%s is unknown, please specify videoXXX where XXX is a digit")
                 .containsKeys(expectedVideos.toArray(new String[expectedVideoCount]));
 
@@ -280,7 +264,7 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
 
         assertThat(response.getVideoPreviewsList().stream().map(VideoPreview::getName).collect(toList()))
                 .as("Cannot get latest videos preview for %s", String.join(" ,", expectedVideos))
-                .containsExactly(expectedVideos.stream().map(x -> VIDEOS.get(x).name).collect(toList()).toArray(new String[expectedVideoCount]));
+                .containsExactly(expectedVideos.stream().map(x -> entities.videos.get(x).name).collect(toList()).toArray(new String[expectedVideoCount]));
     }
 
     @Then("(user\\d) videos preview starting from (video\\d) contains: (.*)")
@@ -288,17 +272,17 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
 
         final int expectedVideoCount = expectedVideos.size();
 
-        assertThat(VIDEOS)
+        assertThat(entities.videos)
                 .as("%s is unknown, please specify videoXXX where XXX is a digit")
                 .containsKeys(expectedVideos.toArray(new String[expectedVideoCount]));
 
-        assertThat(USERS)
+        assertThat(entities.users)
                 .as("%s is unknown, please specify userXXX where XXX is a digit")
                 .containsKey(user);
 
 
-        final UUID startVideoId = VIDEOS.get(startVideo).id;
-        final Row row = dao.session.execute(dao.findVideoByIdPs.bind(startVideoId)).one();
+        final UUID startVideoId = entities.videos.get(startVideo).id;
+        final Row row = dao.getOne(FIND_VIDEO_BY_ID, startVideoId);
 
         assertThat(row)
                 .as("Cannot load %s info", startVideo)
@@ -311,7 +295,7 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
 
         GetUserVideoPreviewsRequest request = GetUserVideoPreviewsRequest
                 .newBuilder()
-                .setUserId(uuidToUuid(USERS.get(user)))
+                .setUserId(uuidToUuid(entities.users.get(user)))
                 .setStartingVideoId(uuidToUuid(startVideoId))
                 .setStartingAddedDate(dateToTimestamp(startVideoAddedDate))
                 .setPageSize(2)
@@ -329,18 +313,18 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
 
         assertThat(response.getVideoPreviewsList().stream().map(VideoPreview::getName).collect(toList()))
                 .as("Cannot get latest videos preview for %s", String.join(" ,", expectedVideos))
-                .containsExactly(expectedVideos.stream().map(x -> VIDEOS.get(x).name).collect(toList()).toArray(new String[expectedVideoCount]));
+                .containsExactly(expectedVideos.stream().map(x -> entities.videos.get(x).name).collect(toList()).toArray(new String[expectedVideoCount]));
     }
 
     @Then("(user\\d) videos preview at page (\\d) contains: (.*)")
     public void getUserVideosPreviewWithPagingState(String user, int pageNumber, List<String> expectedVideos) {
         final int expectedVideoCount = expectedVideos.size();
 
-        assertThat(VIDEOS)
+        assertThat(entities.videos)
                 .as("%s is unknown, please specify videoXXX where XXX is a digit")
                 .containsKeys(expectedVideos.toArray(new String[expectedVideoCount]));
 
-        assertThat(USERS)
+        assertThat(entities.users)
                 .as("%s is unknown, please specify userXXX where XXX is a digit")
                 .containsKey(user);
 
@@ -351,7 +335,7 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
 
         GetUserVideoPreviewsRequest request = GetUserVideoPreviewsRequest
                 .newBuilder()
-                .setUserId(uuidToUuid(USERS.get(user)))
+                .setUserId(uuidToUuid(entities.users.get(user)))
                 .setPagingState(pagingState.get())
                 .setPageSize(2)
                 .build();
@@ -368,7 +352,7 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
 
         assertThat(response.getVideoPreviewsList().stream().map(VideoPreview::getName).collect(toList()))
                 .as("Cannot get %s videos preview for %s", user, String.join(" ,", expectedVideos))
-                .containsExactly(expectedVideos.stream().map(x -> VIDEOS.get(x).name).collect(toList()).toArray(new String[expectedVideoCount]));
+                .containsExactly(expectedVideos.stream().map(x -> entities.videos.get(x).name).collect(toList()).toArray(new String[expectedVideoCount]));
     }
 
     private Optional<String> fetchLatestVideosPages(Optional<String> pagingState) {
@@ -409,7 +393,7 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
         if (pagingState.isPresent()) {
             request = GetUserVideoPreviewsRequest
                     .newBuilder()
-                    .setUserId(uuidToUuid(USERS.get(user)))
+                    .setUserId(uuidToUuid(entities.users.get(user)))
                     .setPagingState(pagingState.get())
                     .setPageSize(2)
                     .build();
@@ -417,7 +401,7 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
         } else {
             request = GetUserVideoPreviewsRequest
                     .newBuilder()
-                    .setUserId(uuidToUuid(USERS.get(user)))
+                    .setUserId(uuidToUuid(entities.users.get(user)))
                     .setPageSize(2)
                     .build();
         }
@@ -469,12 +453,17 @@ public class VideoCatalogServiceSteps extends AbstractSteps {
     }
 
     public static void cleanUpUserAndVideoTables(CassandraDao dao) {
-        dao.truncate("user_credentials");
-        dao.truncate("users");
-        dao.truncate("videos");
-        dao.truncate("user_videos");
-        dao.truncate("latest_videos");
-        dao.truncate("videos_by_tag");
-        dao.truncate("tags_by_letter");
+        cleanUpUserAndVideoTables(dao, Collections.emptyList());
+    }
+
+    /**
+     * Truncate the users & videos tables plus the given ones in a single parallel batch.
+     * Tables not written since their last truncation are skipped
+     */
+    public static void cleanUpUserAndVideoTables(CassandraDao dao, List<String> otherTables) {
+        final List<String> tables = new ArrayList<>(USER_TABLES);
+        tables.addAll(VIDEO_TABLES);
+        tables.addAll(otherTables);
+        dao.truncate(tables);
     }
 }
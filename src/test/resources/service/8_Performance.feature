@@ -0,0 +1,31 @@
+@video_scenarios
+@user_scenarios
+@performance_scenarios
+Feature: Latency and throughput requirements
+
+  Users (userXXX) have their id randomized.
+  Latencies are measured from the intended start of each call, see LoadDriver.
+  Exclude these scenarios with -Dcucumber.options="--tags ~@performance_scenarios"
+
+  Background:
+    Given those users already exist: user1, user2
+
+
+  Scenario: Read videos under sustained load
+    When user1 submit Youtube videos:
+      | id     | name           | description               | tags                 | url                                         |
+      | video1 | b-wing-ucs.mp4 | Lego Star Wars B-Wing UCS | lego,star wars,space | https://www.youtube.com/watch?v=zcryCEQfTwY |
+      | video2 | y-wing-ucs.mp4 | Lego Star Wars Y-Wing UCS | lego,star wars,space | https://www.youtube.com/watch?v=TRyja74EXp0 |
+    And load targets users: user1, user2 and videos: video1, video2
+    When 16 clients call GetVideo, GetVideoPreviews at 200 rps for 5 seconds
+    Then no call to GetVideo failed
+    And p99 latency of GetVideo is below 250 ms and throughput is above 50 rps
+    And p99 latency of GetVideoPreviews is below 250 ms
+
+
+  Scenario: Verify credentials at maximum rate
+    Given a load data set of 20 users and 5 videos
+    When 8 clients call VerifyCredentials for 5 seconds
+    Then no call to VerifyCredentials failed
+    And p99.9 latency of VerifyCredentials is below 500 ms
+    And throughput of VerifyCredentials is above 20 rps